@@ -0,0 +1,19 @@
+package in.urbanecart.cart.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartDto {
+    private String userId;
+    // in the order the products were added
+    private List<CartItemDto> items;
+    private int totalQuantity;
+}
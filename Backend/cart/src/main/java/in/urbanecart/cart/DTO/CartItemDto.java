@@ -0,0 +1,15 @@
+package in.urbanecart.cart.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartItemDto {
+    private Long productId;
+    private int quantity;
+}
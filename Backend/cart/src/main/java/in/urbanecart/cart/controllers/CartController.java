@@ -0,0 +1,51 @@
+package in.urbanecart.cart.controllers;
+
+import in.urbanecart.cart.DTO.CartDto;
+import in.urbanecart.cart.DTO.CartItemRequest;
+import in.urbanecart.cart.service.CartService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@Validated
+@RestController
+@RequestMapping("/api/cart")
+public class CartController {
+
+    private final CartService cartService;
+
+    public CartController(CartService cartService) {
+        this.cartService = cartService;
+    }
+
+    @GetMapping("/{userId}")
+    public ResponseEntity<CartDto> getCart(@PathVariable String userId) {
+        return ResponseEntity.ok(cartService.getCart(userId));
+    }
+
+    // Adds to the quantity already in the cart
+    @PostMapping("/{userId}/items")
+    public ResponseEntity<CartDto> addItem(@PathVariable String userId, @Valid @RequestBody CartItemRequest request) {
+        return ResponseEntity.ok(cartService.addItem(userId, request.getProductId(), request.getQuantity()));
+    }
+
+    // Sets the quantity; zero removes the product
+    @PutMapping("/{userId}/items/{productId}")
+    public ResponseEntity<CartDto> updateQuantity(@PathVariable String userId, @PathVariable Long productId,
+                                                  @RequestParam @PositiveOrZero int quantity) {
+        return ResponseEntity.ok(cartService.updateQuantity(userId, productId, quantity));
+    }
+
+    @DeleteMapping("/{userId}/items/{productId}")
+    public ResponseEntity<CartDto> removeItem(@PathVariable String userId, @PathVariable Long productId) {
+        return ResponseEntity.ok(cartService.removeItem(userId, productId));
+    }
+
+    @DeleteMapping("/{userId}")
+    public ResponseEntity<Void> clearCart(@PathVariable String userId) {
+        cartService.clearCart(userId);
+        return ResponseEntity.noContent().build();
+    }
+}
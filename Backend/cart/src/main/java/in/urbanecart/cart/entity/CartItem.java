@@ -0,0 +1,39 @@
+package in.urbanecart.cart.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of a persisted cart. Rows are written only by the cart write-behind,
+ * which replaces a user's lines as a whole, so {@code lineNo} keeps the order items were added in.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(CartItemId.class)
+@Table(name = "cart_item")
+public class CartItem {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(name = "line_no", nullable = false)
+    private int lineNo;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,15 @@
+package in.urbanecart.cart.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemId implements Serializable {
+    private String userId;
+    private Long productId;
+}
@@ -0,0 +1,12 @@
+package in.urbanecart.cart.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CartLimitExceeded extends RuntimeException {
+
+    public CartLimitExceeded(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package in.urbanecart.cart.repository;
+
+import in.urbanecart.cart.entity.CartItem;
+import in.urbanecart.cart.entity.CartItemId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CartItemRepository extends JpaRepository<CartItem, CartItemId> {
+
+    List<CartItem> findByUserIdOrderByLineNo(String userId);
+}
@@ -0,0 +1,16 @@
+package in.urbanecart.cart.service;
+
+import in.urbanecart.cart.DTO.CartDto;
+
+public interface CartService {
+
+    CartDto getCart(String userId);
+
+    CartDto addItem(String userId, Long productId, int quantity);
+
+    CartDto updateQuantity(String userId, Long productId, int quantity);
+
+    CartDto removeItem(String userId, Long productId);
+
+    void clearCart(String userId);
+}
@@ -0,0 +1,54 @@
+package in.urbanecart.cart.service.impl;
+
+import in.urbanecart.cart.DTO.CartDto;
+import in.urbanecart.cart.DTO.CartItemDto;
+import in.urbanecart.cart.service.CartService;
+import in.urbanecart.cart.store.CartLine;
+import in.urbanecart.cart.store.CartStore;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Every operation is answered from the in-memory store; persistence is left to the write-behind
+@Service
+public class CartServiceImpl implements CartService {
+
+    private final CartStore cartStore;
+
+    public CartServiceImpl(CartStore cartStore) {
+        this.cartStore = cartStore;
+    }
+
+    @Override
+    public CartDto getCart(String userId) {
+        return toDto(userId, cartStore.get(userId));
+    }
+
+    @Override
+    public CartDto addItem(String userId, Long productId, int quantity) {
+        return toDto(userId, cartStore.add(userId, productId, quantity));
+    }
+
+    @Override
+    public CartDto updateQuantity(String userId, Long productId, int quantity) {
+        return toDto(userId, cartStore.setQuantity(userId, productId, quantity));
+    }
+
+    @Override
+    public CartDto removeItem(String userId, Long productId) {
+        return toDto(userId, cartStore.remove(userId, productId));
+    }
+
+    @Override
+    public void clearCart(String userId) {
+        cartStore.clear(userId);
+    }
+
+    private CartDto toDto(String userId, List<CartLine> lines) {
+        List<CartItemDto> items = lines.stream()
+                .map(line -> new CartItemDto(line.productId(), line.quantity()))
+                .toList();
+        int total = lines.stream().mapToInt(CartLine::quantity).sum();
+        return new CartDto(userId, items, total);
+    }
+}
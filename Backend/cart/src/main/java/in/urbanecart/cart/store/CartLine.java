@@ -0,0 +1,4 @@
+package in.urbanecart.cart.store;
+
+public record CartLine(Long productId, int quantity) {
+}
@@ -0,0 +1,7 @@
+package in.urbanecart.cart.store;
+
+import java.util.List;
+
+// A user's lines as they were when the write-behind picked the cart up
+public record CartSnapshot(String userId, List<CartLine> lines) {
+}
@@ -0,0 +1,240 @@
+package in.urbanecart.cart.store;
+
+import in.urbanecart.cart.entity.CartItem;
+import in.urbanecart.cart.exception.CartLimitExceeded;
+import in.urbanecart.cart.repository.CartItemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Active carts, held in memory and keyed by user. The key space is split into lock stripes, so
+ * operations on different users rarely contend and an operation never waits on the database:
+ * a cart is read from {@code cart_item} once, on first touch, and changes are only marked dirty
+ * for {@link CartWriteBehind} to persist.
+ * <p>
+ * Carts that are clean and idle are dropped from memory; the next touch reloads them.
+ */
+@Component
+public class CartStore {
+
+    private final CartItemRepository cartItemRepository;
+    private final Stripe[] stripes;
+    private final int maxLines;
+    private final int maxQuantity;
+    // users whose cart changed since the write-behind last picked it up
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public CartStore(CartItemRepository cartItemRepository,
+                     @Value("${cart.store.stripes:64}") int stripes,
+                     @Value("${cart.max-lines:100}") int maxLines,
+                     @Value("${cart.max-quantity:99}") int maxQuantity) {
+        this.cartItemRepository = cartItemRepository;
+        int count = 1;
+        while (count < stripes) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.maxLines = maxLines;
+        this.maxQuantity = maxQuantity;
+    }
+
+    public List<CartLine> get(String userId) {
+        return withCart(userId, Cart::lines);
+    }
+
+    public List<CartLine> add(String userId, Long productId, int quantity) {
+        return withCart(userId, cart -> {
+            Integer current = cart.items.get(productId);
+            if (current == null && cart.items.size() >= maxLines) {
+                throw new CartLimitExceeded("A cart can hold at most " + maxLines + " products");
+            }
+            int updated = (current == null ? 0 : current) + quantity;
+            if (updated > maxQuantity) {
+                throw new CartLimitExceeded("At most " + maxQuantity + " of product " + productId + " per cart");
+            }
+            cart.items.put(productId, updated);
+            changed(userId, cart);
+            return cart.lines();
+        });
+    }
+
+    // A quantity of zero removes the product
+    public List<CartLine> setQuantity(String userId, Long productId, int quantity) {
+        if (quantity == 0) {
+            return remove(userId, productId);
+        }
+        return withCart(userId, cart -> {
+            if (quantity > maxQuantity) {
+                throw new CartLimitExceeded("At most " + maxQuantity + " of product " + productId + " per cart");
+            }
+            if (!cart.items.containsKey(productId) && cart.items.size() >= maxLines) {
+                throw new CartLimitExceeded("A cart can hold at most " + maxLines + " products");
+            }
+            Integer previous = cart.items.put(productId, quantity);
+            if (previous == null || previous != quantity) {
+                changed(userId, cart);
+            }
+            return cart.lines();
+        });
+    }
+
+    public List<CartLine> remove(String userId, Long productId) {
+        return withCart(userId, cart -> {
+            if (cart.items.remove(productId) != null) {
+                changed(userId, cart);
+            }
+            return cart.lines();
+        });
+    }
+
+    public void clear(String userId) {
+        withCart(userId, cart -> {
+            if (!cart.items.isEmpty()) {
+                cart.items.clear();
+                changed(userId, cart);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Takes up to {@code max} dirty carts and marks them clean. The caller owns persisting the
+     * snapshots, and must hand the users back through {@link #markDirty} if that fails.
+     */
+    List<CartSnapshot> drainDirty(int max) {
+        List<CartSnapshot> snapshots = new ArrayList<>(Math.min(max, dirty.size()));
+        Iterator<String> pending = dirty.iterator();
+        while (snapshots.size() < max && pending.hasNext()) {
+            String userId = pending.next();
+            if (!dirty.remove(userId)) {
+                continue;
+            }
+            Stripe stripe = stripeFor(userId);
+            stripe.lock.lock();
+            try {
+                Cart cart = stripe.carts.get(userId);
+                if (cart != null && cart.dirty) {
+                    cart.dirty = false;
+                    snapshots.add(new CartSnapshot(userId, cart.lines()));
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return snapshots;
+    }
+
+    void markDirty(Collection<String> userIds) {
+        for (String userId : userIds) {
+            Stripe stripe = stripeFor(userId);
+            stripe.lock.lock();
+            try {
+                Cart cart = stripe.carts.get(userId);
+                if (cart != null) {
+                    changed(userId, cart);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    // Drops clean carts nobody touched within idleTimeout; their rows in the database are current
+    int evictIdle(Duration idleTimeout) {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                int before = stripe.carts.size();
+                stripe.carts.values().removeIf(cart -> !cart.dirty && cart.lastAccess - cutoff < 0);
+                if (stripe.carts.size() < before) {
+                    stripe.evictions++;
+                    evicted += before - stripe.carts.size();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    int pending() {
+        return dirty.size();
+    }
+
+    private <T> T withCart(String userId, Function<Cart, T> action) {
+        Stripe stripe = stripeFor(userId);
+        Cart loaded = null;
+        long evictions = 0;
+        while (true) {
+            stripe.lock.lock();
+            try {
+                Cart cart = stripe.carts.get(userId);
+                // a cart read before an eviction on this stripe may predate the rows that eviction relied on
+                if (cart == null && loaded != null && evictions == stripe.evictions) {
+                    stripe.carts.put(userId, loaded);
+                    cart = loaded;
+                }
+                if (cart != null) {
+                    cart.lastAccess = System.nanoTime();
+                    return action.apply(cart);
+                }
+                evictions = stripe.evictions;
+            } finally {
+                stripe.lock.unlock();
+            }
+            // first touch since start or eviction: read outside the lock so other users on the stripe keep going
+            loaded = load(userId);
+        }
+    }
+
+    private Cart load(String userId) {
+        Cart cart = new Cart();
+        for (CartItem item : cartItemRepository.findByUserIdOrderByLineNo(userId)) {
+            cart.items.put(item.getProductId(), item.getQuantity());
+        }
+        return cart;
+    }
+
+    // Caller holds the stripe lock
+    private void changed(String userId, Cart cart) {
+        if (!cart.dirty) {
+            cart.dirty = true;
+            dirty.add(userId);
+        }
+    }
+
+    private Stripe stripeFor(String userId) {
+        int hash = userId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<String, Cart> carts = new HashMap<>();
+        long evictions;
+    }
+
+    private static final class Cart {
+        // insertion ordered, so lines come back in the order they were added
+        final LinkedHashMap<Long, Integer> items = new LinkedHashMap<>();
+        boolean dirty;
+        long lastAccess;
+
+        List<CartLine> lines() {
+            List<CartLine> lines = new ArrayList<>(items.size());
+            items.forEach((productId, quantity) -> lines.add(new CartLine(productId, quantity)));
+            return lines;
+        }
+    }
+}
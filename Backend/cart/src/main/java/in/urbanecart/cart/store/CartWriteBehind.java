@@ -0,0 +1,100 @@
+package in.urbanecart.cart.store;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Persists the carts {@link CartStore} marked dirty, a batch of users per transaction: their rows
+ * are deleted and the current lines inserted, so a burst of changes to one cart costs one write.
+ * <p>
+ * Runs every {@code cart.write-behind.interval} and once more on shutdown. A crash can lose at most
+ * the changes of the last interval; everything else is read back from {@code cart_item} on restart.
+ */
+@Slf4j
+@Component
+public class CartWriteBehind {
+
+    private static final String DELETE_SQL = "DELETE FROM cart_item WHERE user_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO cart_item (user_id, product_id, quantity, line_no, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final CartStore cartStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration idleTimeout;
+
+    public CartWriteBehind(CartStore cartStore, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           @Value("${cart.write-behind.batch-size:500}") int batchSize,
+                           @Value("${cart.store.idle-timeout:30m}") Duration idleTimeout) {
+        this.cartStore = cartStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.write-behind.interval:250ms}")
+    public void run() {
+        flush();
+        cartStore.evictIdle(idleTimeout);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int written = flush();
+        log.info("Flushed {} carts on shutdown, {} left unsaved", written, cartStore.pending());
+    }
+
+    // One flush at a time, so two snapshots of the same cart are never written out of order
+    public synchronized int flush() {
+        int written = 0;
+        List<CartSnapshot> batch;
+        while (!(batch = cartStore.drainDirty(batchSize)).isEmpty()) {
+            try {
+                write(batch);
+                written += batch.size();
+            } catch (RuntimeException e) {
+                cartStore.markDirty(batch.stream().map(CartSnapshot::userId).toList());
+                log.warn("Could not persist {} carts, retrying on the next run", batch.size(), e);
+                break;
+            }
+        }
+        return written;
+    }
+
+    private void write(List<CartSnapshot> batch) {
+        // Sorted so that instances flushing overlapping users lock rows in the same order
+        List<CartSnapshot> sorted = new ArrayList<>(batch);
+        sorted.sort(Comparator.comparing(CartSnapshot::userId));
+
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (CartSnapshot cart : sorted) {
+            for (int i = 0; i < cart.lines().size(); i++) {
+                CartLine line = cart.lines().get(i);
+                rows.add(new Object[]{cart.userId(), line.productId(), line.quantity(), i, now});
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(DELETE_SQL, sorted, batchSize, (ps, cart) -> ps.setString(1, cart.userId()));
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            }
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package in.urbanecart.cart.store;
+
+import in.urbanecart.cart.entity.CartItem;
+import in.urbanecart.cart.repository.CartItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CartStoreTests {
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private CartWriteBehind cartWriteBehind;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Test
+    void concurrentUpdatesAreAppliedInMemoryAndPersistedInOneFlush() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 40; i++) {
+                        cartStore.add("shared", (long) (i % 4), 1);
+                        cartStore.add("user-" + i, 1L, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 1. Every increment landed, none of it written yet
+        assertThat(cartStore.get("shared")).containsExactly(new CartLine(0L, 80), new CartLine(1L, 80),
+                new CartLine(2L, 80), new CartLine(3L, 80));
+        assertThat(cartStore.get("user-7")).containsExactly(new CartLine(1L, 8));
+        assertThat(cartItemRepository.findByUserIdOrderByLineNo("shared")).isEmpty();
+
+        // 2. One flush writes each cart's final state
+        assertThat(cartWriteBehind.flush()).isEqualTo(41);
+        assertThat(cartItemRepository.findByUserIdOrderByLineNo("shared"))
+                .extracting(CartItem::getProductId, CartItem::getQuantity)
+                .containsExactly(tuple(0L, 80), tuple(1L, 80),
+                        tuple(2L, 80), tuple(3L, 80));
+        assertThat(cartWriteBehind.flush()).isZero();
+    }
+
+    @Test
+    void restartedStoreRecoversPersistedCarts() {
+        cartStore.add("recover", 10L, 2);
+        cartStore.add("recover", 11L, 1);
+        cartStore.setQuantity("recover", 10L, 5);
+        cartStore.add("recover", 12L, 3);
+        cartStore.remove("recover", 11L);
+        cartWriteBehind.flush();
+
+        CartStore restarted = new CartStore(cartItemRepository, 16, 100, 99);
+        assertThat(restarted.get("recover")).containsExactly(new CartLine(10L, 5), new CartLine(12L, 3));
+    }
+
+    @Test
+    void evictedCartsAreReloadedFromTheDatabase() {
+        cartStore.add("evicted", 20L, 4);
+        // dirty carts are kept until written
+        cartStore.evictIdle(Duration.ZERO);
+        assertThat(cartStore.get("evicted")).containsExactly(new CartLine(20L, 4));
+
+        cartWriteBehind.flush();
+        cartStore.evictIdle(Duration.ZERO);
+        CartItem row = cartItemRepository.findByUserIdOrderByLineNo("evicted").get(0);
+        row.setQuantity(7);
+        cartItemRepository.save(row);
+
+        assertThat(cartStore.add("evicted", 20L, 1)).containsExactly(new CartLine(20L, 8));
+        cartWriteBehind.flush();
+    }
+}
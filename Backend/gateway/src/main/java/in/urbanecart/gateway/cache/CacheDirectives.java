@@ -0,0 +1,44 @@
+package in.urbanecart.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.Locale;
+
+/**
+ * The Cache-Control directives the gateway cache acts on; ages are in seconds, null when absent.
+ */
+record CacheDirectives(boolean noStore, boolean noCache, boolean isPrivate,
+                       Long maxAge, Long sharedMaxAge, Long staleWhileRevalidate) {
+
+    static CacheDirectives of(HttpHeaders headers) {
+        boolean noStore = false, noCache = false, isPrivate = false;
+        Long maxAge = null, sharedMaxAge = null, staleWhileRevalidate = null;
+
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String directive : value.split(",")) {
+                String[] parts = directive.trim().toLowerCase(Locale.ROOT).split("=", 2);
+                switch (parts[0]) {
+                    case "no-store" -> noStore = true;
+                    case "no-cache" -> noCache = true;
+                    case "private" -> isPrivate = true;
+                    case "max-age" -> maxAge = seconds(parts);
+                    case "s-maxage" -> sharedMaxAge = seconds(parts);
+                    case "stale-while-revalidate" -> staleWhileRevalidate = seconds(parts);
+                    default -> { }
+                }
+            }
+        }
+        return new CacheDirectives(noStore, noCache, isPrivate, maxAge, sharedMaxAge, staleWhileRevalidate);
+    }
+
+    private static Long seconds(String[] parts) {
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            return Math.max(0, Long.parseLong(parts[1].trim().replace("\"", "")));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
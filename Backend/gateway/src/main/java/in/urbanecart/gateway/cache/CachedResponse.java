@@ -0,0 +1,28 @@
+package in.urbanecart.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.net.URI;
+
+/**
+ * A stored upstream response. routeId is the route it was fetched through, so a write through that
+ * route drops it. requestHeaders keeps the headers the variant was selected by, so it can be matched
+ * against later requests and re-fetched from origin when it goes stale. Times are epoch millis.
+ */
+record CachedResponse(String routeId, String baseKey, HttpStatusCode status, HttpHeaders headers, byte[] body,
+                      HttpHeaders requestHeaders, URI origin,
+                      long storedAt, long freshUntil, long staleUntil) {
+
+    boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    boolean isUsable(long now) {
+        return now < staleUntil;
+    }
+
+    long ageSeconds(long now) {
+        return Math.max(0, (now - storedAt) / 1000);
+    }
+}
@@ -0,0 +1,267 @@
+package in.urbanecart.gateway.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Caches GET responses of a route in memory ({@code filters: - ResponseCache}).
+ * <ul>
+ *     <li>fresh hits are answered without touching upstream, honouring If-None-Match;</li>
+ *     <li>stale entries inside the stale-while-revalidate window are served while one background
+ *     conditional request refreshes them;</li>
+ *     <li>concurrent misses for the same key wait for a single upstream request;</li>
+ *     <li>successful writes through the route drop that route's entries; configured read-only
+ *     paths, such as POST batch lookups, are passed through without invalidating.</li>
+ * </ul>
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Log log = LogFactory.getLog(ResponseCacheGatewayFilterFactory.class);
+
+    private final ResponseCacheStore store;
+    private final ResponseCacheProperties properties;
+    private final WebClient webClient;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Map<String, Counter> lookups = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final List<PathPattern> readOnlyPaths;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store, ResponseCacheProperties properties,
+                                             WebClient.Builder webClientBuilder, MeterRegistry registry) {
+        this.store = store;
+        this.properties = properties;
+        this.registry = registry;
+        this.readOnlyPaths = properties.readOnlyPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+        int maxEntryBytes = (int) properties.maxEntrySize().toBytes();
+        this.webClient = webClientBuilder.clone()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxEntryBytes))
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "ResponseCache";
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        // must wrap the response before NettyWriteResponseFilter writes the upstream body into it
+        return new OrderedGatewayFilter(this::filter, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        // 1. Writes invalidate their route; anything personal or explicitly uncached goes straight through
+        if (request.getMethod() != HttpMethod.GET) {
+            if (isReadOnly(request)) {
+                return chain.filter(exchange);
+            }
+            // before commit, so a client never reads its own write back from the cache
+            exchange.getResponse().beforeCommit(() -> {
+                if (exchange.getResponse().getStatusCode() != null
+                        && exchange.getResponse().getStatusCode().is2xxSuccessful()) {
+                    store.invalidateRoute(routeId(exchange));
+                }
+                return Mono.empty();
+            });
+            return chain.filter(exchange);
+        }
+        CacheDirectives requested = CacheDirectives.of(request.getHeaders());
+        if (requested.noStore() || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            count("bypass");
+            return chain.filter(exchange);
+        }
+
+        // 2. Fresh hit, or stale hit that refreshes in the background
+        String key = store.key(request);
+        CachedResponse cached = requested.noCache() ? null : store.get(key);
+        long now = store.now();
+        if (cached != null && cached.isFresh(now)) {
+            count("hit");
+            return write(exchange, cached, "HIT");
+        }
+        if (cached != null && cached.isUsable(now) && cached.origin() != null) {
+            count("stale");
+            revalidate(cached);
+            return write(exchange, cached, "STALE");
+        }
+
+        // 3. Miss: the first request goes upstream, concurrent ones wait for its response
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader == null) {
+            count("miss");
+            return fetch(exchange, chain, sink).doFinally(signal -> {
+                sink.tryEmitEmpty();
+                inFlight.remove(key, sink);
+            });
+        }
+        return leader.asMono()
+                .timeout(properties.coalesceTimeout())
+                .onErrorResume(TimeoutException.class, e -> Mono.empty())
+                .filter(entry -> store.matches(entry, request.getHeaders()))
+                .flatMap(entry -> {
+                    count("coalesced");
+                    return write(exchange, entry, "HIT").thenReturn(entry);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    count("miss");
+                    return fetch(exchange, chain, Sinks.one()).then(Mono.empty());
+                }))
+                .then();
+    }
+
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, Sinks.One<CachedResponse> sink) {
+        ServerHttpResponse original = exchange.getResponse();
+        int maxEntryBytes = (int) properties.maxEntrySize().toBytes();
+
+        ServerHttpResponseDecorator capturing = new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                CacheDirectives directives = CacheDirectives.of(getHeaders());
+                if (!store.isCacheable(getStatusCode(), getHeaders(), directives)) {
+                    return super.writeWith(body);
+                }
+                getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+                // Copy the body as it streams to the client; oversized bodies are passed through uncached
+                ByteArrayOutputStream copy = new ByteArrayOutputStream();
+                AtomicBoolean tooLarge = new AtomicBoolean();
+                Flux<? extends DataBuffer> teed = Flux.from(body)
+                        .doOnNext(buffer -> {
+                            int length = buffer.readableByteCount();
+                            if (tooLarge.get() || copy.size() + length > maxEntryBytes) {
+                                tooLarge.set(true);
+                                return;
+                            }
+                            ByteBuffer bytes = ByteBuffer.allocate(length);
+                            buffer.toByteBuffer(buffer.readPosition(), bytes, 0, length);
+                            copy.write(bytes.array(), 0, length);
+                        })
+                        .doOnComplete(() -> {
+                            if (tooLarge.get()) {
+                                return;
+                            }
+                            URI origin = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+                            sink.tryEmitValue(store.put(routeId(exchange), ResponseCacheStore.baseKey(exchange.getRequest()),
+                                    exchange.getRequest().getHeaders(), getStatusCode(), getHeaders(),
+                                    copy.toByteArray(), origin, directives));
+                        });
+                return super.writeWith(teed);
+            }
+        };
+        return chain.filter(exchange.mutate().response(capturing).build());
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(store.now())));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        String etag = cached.headers().getETag();
+        if (etag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    // One conditional request per stale entry at a time, straight to the instance that produced it
+    private void revalidate(CachedResponse stale) {
+        String key = stale.baseKey() + stale.requestHeaders();
+        if (!revalidating.add(key)) {
+            return;
+        }
+        webClient.get()
+                .uri(stale.origin())
+                .headers(headers -> {
+                    headers.addAll(stale.requestHeaders());
+                    if (stale.headers().getETag() != null) {
+                        headers.setIfNoneMatch(stale.headers().getETag());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    CacheDirectives directives = CacheDirectives.of(headers);
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        store.refresh(stale, headers, directives);
+                        return response.releaseBody();
+                    }
+                    if (!store.isCacheable(response.statusCode(), headers, directives)) {
+                        return response.releaseBody();
+                    }
+                    return response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .doOnNext(body -> store.put(stale.routeId(), stale.baseKey(), stale.requestHeaders(),
+                                    response.statusCode(), headers, body, stale.origin(), directives))
+                            .then();
+                })
+                .doFinally(signal -> revalidating.remove(key))
+                .subscribe(null, e -> log.debug("Revalidation of " + stale.baseKey() + " failed", e));
+    }
+
+    private boolean isReadOnly(ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        return readOnlyPaths.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route == null ? "" : route.getId();
+    }
+
+    private void count(String result) {
+        lookups.computeIfAbsent(result, r -> Counter.builder("gateway.response.cache")
+                        .tag("result", r)
+                        .description("Gateway response cache lookups")
+                        .register(registry))
+                .increment();
+    }
+}
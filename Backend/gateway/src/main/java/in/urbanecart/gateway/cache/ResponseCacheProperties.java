@@ -0,0 +1,24 @@
+package in.urbanecart.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Limits of the gateway response cache. ttl and staleWhileRevalidate apply when the
+ * upstream response carries no max-age / stale-while-revalidate of its own. readOnlyPaths are
+ * path patterns whose non-GET requests only read, such as batch lookups with ids in the body,
+ * and so do not invalidate.
+ */
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("30s") Duration ttl,
+        @DefaultValue("60s") Duration staleWhileRevalidate,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("1MB") DataSize maxEntrySize,
+        @DefaultValue("5s") Duration coalesceTimeout,
+        @DefaultValue("/api/products/batch") List<String> readOnlyPaths) {
+}
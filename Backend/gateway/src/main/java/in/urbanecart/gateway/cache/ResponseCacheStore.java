@@ -0,0 +1,197 @@
+package in.urbanecart.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded store behind {@link ResponseCacheGatewayFilterFactory}. Entries are weighed by body
+ * size and expire once their stale-while-revalidate window has passed.
+ * <p>
+ * Variants follow the upstream Vary header: the header names seen for a URI are remembered,
+ * and the request values of those headers become part of the key.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private static final List<String> HOP_BY_HOP = List.of(HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING,
+            "Keep-Alive", HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.TE, HttpHeaders.UPGRADE,
+            HttpHeaders.AGE, ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER);
+
+    private final ResponseCacheProperties properties;
+    private final Clock clock;
+    private final Cache<String, CachedResponse> responses;
+    // URI -> header names its responses vary on
+    private final Cache<String, List<String>> varyHeaders;
+
+    public ResponseCacheStore(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.clock = Clock.systemUTC();
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((String key, CachedResponse value) -> key.length() + value.body().length + 512)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return remaining(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return remaining(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.varyHeaders = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterAccess(properties.ttl().plus(properties.staleWhileRevalidate()).multipliedBy(2))
+                .build();
+
+        Gauge.builder("gateway.response.cache.size", responses, Cache::estimatedSize)
+                .description("Responses held by the gateway cache")
+                .register(registry);
+    }
+
+    long now() {
+        return clock.millis();
+    }
+
+    String key(ServerHttpRequest request) {
+        return key(baseKey(request), request.getHeaders());
+    }
+
+    static String baseKey(ServerHttpRequest request) {
+        URI uri = request.getURI();
+        return request.getMethod().name() + " " + uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+    }
+
+    CachedResponse get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    // A coalesced follower may only reuse the leader's response if it selects the same variant
+    boolean matches(CachedResponse entry, HttpHeaders requestHeaders) {
+        return key(entry.baseKey(), entry.requestHeaders()).equals(key(entry.baseKey(), requestHeaders));
+    }
+
+    boolean isCacheable(HttpStatusCode status, HttpHeaders headers, CacheDirectives directives) {
+        return HttpStatus.OK.equals(status)
+                && !directives.noStore() && !directives.noCache() && !directives.isPrivate()
+                && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                && !headers.getVary().contains("*")
+                && freshMillis(directives) + staleMillis(directives) > 0;
+    }
+
+    CachedResponse put(String routeId, String baseKey, HttpHeaders requestHeaders, HttpStatusCode status, HttpHeaders responseHeaders,
+                       byte[] body, URI origin, CacheDirectives directives) {
+        // 1. Remember what this URI varies on before keying the variant
+        List<String> vary = responseHeaders.getVary().stream().map(name -> name.toLowerCase(Locale.ROOT)).sorted().toList();
+        if (vary.isEmpty()) {
+            varyHeaders.invalidate(baseKey);
+        } else {
+            varyHeaders.put(baseKey, vary);
+        }
+
+        // 2. Keep only the request headers needed to select and re-fetch the variant
+        HttpHeaders selecting = new HttpHeaders();
+        for (String name : vary) {
+            List<String> values = requestHeaders.get(name);
+            if (values != null) {
+                selecting.put(name, List.copyOf(values));
+            }
+        }
+        if (!selecting.containsKey(HttpHeaders.ACCEPT) && requestHeaders.containsKey(HttpHeaders.ACCEPT)) {
+            selecting.put(HttpHeaders.ACCEPT, List.copyOf(requestHeaders.get(HttpHeaders.ACCEPT)));
+        }
+
+        HttpHeaders stored = new HttpHeaders();
+        responseHeaders.forEach((name, values) -> stored.put(name, new ArrayList<>(values)));
+        HOP_BY_HOP.forEach(stored::remove);
+        stored.setContentLength(body.length);
+
+        long now = now();
+        long freshUntil = now + freshMillis(directives);
+        CachedResponse entry = new CachedResponse(routeId, baseKey, status, HttpHeaders.readOnlyHttpHeaders(stored), body,
+                HttpHeaders.readOnlyHttpHeaders(selecting), origin, now, freshUntil,
+                freshUntil + staleMillis(directives));
+        responses.put(key(baseKey, selecting), entry);
+        return entry;
+    }
+
+    // A 304 from origin: same body, new validity window and whatever validators origin sent along
+    CachedResponse refresh(CachedResponse entry, HttpHeaders notModifiedHeaders, CacheDirectives directives) {
+        HttpHeaders headers = new HttpHeaders();
+        entry.headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        for (String name : List.of(HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED,
+                HttpHeaders.EXPIRES, HttpHeaders.DATE)) {
+            List<String> values = notModifiedHeaders.get(name);
+            if (values != null) {
+                headers.put(name, new ArrayList<>(values));
+            }
+        }
+        return put(entry.routeId(), entry.baseKey(), entry.requestHeaders(), entry.status(), headers, entry.body(), entry.origin(),
+                directives);
+    }
+
+    // Other routes' entries are untouched by a write through this one
+    void invalidateRoute(String routeId) {
+        responses.asMap().values().removeIf(entry -> {
+            if (!entry.routeId().equals(routeId)) {
+                return false;
+            }
+            varyHeaders.invalidate(entry.baseKey());
+            return true;
+        });
+    }
+
+    private String key(String baseKey, HttpHeaders requestHeaders) {
+        List<String> vary = varyHeaders.getIfPresent(baseKey);
+        if (vary == null) {
+            return baseKey;
+        }
+        StringBuilder key = new StringBuilder(baseKey);
+        for (String name : vary) {
+            key.append('|').append(name).append('=').append(String.join(",", requestHeaders.getOrEmpty(name)));
+        }
+        return key.toString();
+    }
+
+    private long freshMillis(CacheDirectives directives) {
+        if (directives.sharedMaxAge() != null) {
+            return TimeUnit.SECONDS.toMillis(directives.sharedMaxAge());
+        }
+        if (directives.maxAge() != null) {
+            return TimeUnit.SECONDS.toMillis(directives.maxAge());
+        }
+        return properties.ttl().toMillis();
+    }
+
+    private long staleMillis(CacheDirectives directives) {
+        return directives.staleWhileRevalidate() != null
+                ? TimeUnit.SECONDS.toMillis(directives.staleWhileRevalidate())
+                : properties.staleWhileRevalidate().toMillis();
+    }
+
+    private long remaining(CachedResponse value) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.staleUntil() - now()));
+    }
+}
@@ -0,0 +1,157 @@
+package in.urbanecart.gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.*;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Picks two instances at random and routes to the cheaper one, where cost is the peak EWMA
+ * of response latency multiplied by the requests currently outstanding on that instance.
+ * <p>
+ * The balancer is also the {@link LoadBalancerLifecycle} that feeds those numbers: the gateway
+ * reports every routed request's start and completion for the chosen instance.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    // Latency assumed for an instance that has not answered yet, so new instances are probed but not flooded
+    private static final long DEFAULT_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final String serviceId;
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers, String serviceId,
+                                    Duration decay, Duration failurePenalty) {
+        this.suppliers = suppliers;
+        this.serviceId = serviceId;
+        this.decayNanos = decay.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        // Power of two choices: nearly as good as scanning every instance, without herding on one
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(statsFor(a).cost() <= statsFor(b).cost() ? a : b);
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(System.nanoTime());
+        }
+        if (lbResponse.hasServer()) {
+            statsFor(lbResponse.getServer()).outstanding.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completion) {
+        Response<ServiceInstance> lbResponse = completion.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()
+                || completion.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+        InstanceStats instance = statsFor(lbResponse.getServer());
+        instance.outstanding.decrementAndGet();
+
+        long now = System.nanoTime();
+        long latency = completion.getLoadBalancerRequest().getContext() instanceof TimedRequestContext context
+                && context.getRequestStartTime() > 0 ? now - context.getRequestStartTime() : DEFAULT_LATENCY_NANOS;
+        // Errors and 5xx count as slow answers so a failing instance sheds traffic too
+        if (completion.status() == CompletionContext.Status.FAILED || isServerError(completion.getClientResponse())) {
+            latency = Math.max(latency, failurePenaltyNanos);
+        }
+        instance.observe(latency, now, decayNanos);
+    }
+
+    int outstanding(ServiceInstance instance) {
+        return statsFor(instance).outstanding.get();
+    }
+
+    private static boolean isServerError(Object clientResponse) {
+        return clientResponse instanceof ResponseData response
+                && response.getHttpStatus() != null && response.getHttpStatus().is5xxServerError();
+    }
+
+    private InstanceStats statsFor(ServiceInstance instance) {
+        String key = instance.getInstanceId() != null ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+        return stats.computeIfAbsent(key, k -> new InstanceStats());
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyAwareLoadBalancer[" + serviceId + "]";
+    }
+
+    private static final class InstanceStats {
+
+        final AtomicInteger outstanding = new AtomicInteger();
+        // latency EWMA in nanos; the sample time only sets the decay weight, so it is not CAS-ed with it
+        final AtomicLong ewma = new AtomicLong(DEFAULT_LATENCY_NANOS);
+        final AtomicLong lastSample = new AtomicLong(System.nanoTime());
+
+        long cost() {
+            return ewma.get() * (Math.max(0, outstanding.get()) + 1);
+        }
+
+        // Peak EWMA: a slower sample is taken at once, faster ones pull the average down gradually
+        void observe(long latency, long now, long decayNanos) {
+            while (true) {
+                long current = ewma.get();
+                long elapsed = Math.max(0, now - lastSample.get());
+                double weight = Math.exp(-(double) elapsed / decayNanos);
+                long next = latency > current ? latency : (long) (current * weight + latency * (1 - weight));
+                if (ewma.compareAndSet(current, Math.max(1, next))) {
+                    lastSample.set(now);
+                    return;
+                }
+            }
+        }
+    }
+}
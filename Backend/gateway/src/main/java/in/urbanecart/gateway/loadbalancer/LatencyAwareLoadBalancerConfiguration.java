@@ -0,0 +1,27 @@
+package in.urbanecart.gateway.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer configuration, instantiated in each client's child context by
+ * {@link LoadBalancingConfig}. Deliberately not a {@code @Configuration}: component scanning
+ * must not pick it up into the main context.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    // Declared as the concrete type so the gateway also finds it as this client's LoadBalancerLifecycle
+    @Bean
+    public LatencyAwareLoadBalancer latencyAwareLoadBalancer(Environment environment,
+                                                             LoadBalancerClientFactory clientFactory,
+                                                             LoadBalancerProperties properties) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                properties.decay(),
+                properties.failurePenalty());
+    }
+}
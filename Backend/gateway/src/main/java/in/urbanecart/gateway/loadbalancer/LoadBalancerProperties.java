@@ -0,0 +1,16 @@
+package in.urbanecart.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning of {@link LatencyAwareLoadBalancer}: how quickly latency history fades, and the latency
+ * charged for a failed or 5xx call.
+ */
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public record LoadBalancerProperties(
+        @DefaultValue("10s") Duration decay,
+        @DefaultValue("1s") Duration failurePenalty) {
+}
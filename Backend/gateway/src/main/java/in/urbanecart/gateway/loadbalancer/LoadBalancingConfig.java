@@ -0,0 +1,10 @@
+package in.urbanecart.gateway.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+// Every lb:// route resolves instances from Eureka and picks one with the latency-aware balancer
+@Configuration(proxyBeanMethods = false)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancingConfig {
+}
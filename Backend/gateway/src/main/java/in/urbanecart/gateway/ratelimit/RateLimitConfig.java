@@ -0,0 +1,21 @@
+package in.urbanecart.gateway.ratelimit;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+@Configuration(proxyBeanMethods = false)
+public class RateLimitConfig {
+
+    // The gateway is the edge, so the socket address is used rather than a client-supplied X-Forwarded-For
+    @Bean
+    public KeyResolver clientAddressKeyResolver() {
+        return exchange -> {
+            InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+            return remote == null ? Mono.empty() : Mono.just(remote.getHostString());
+        };
+    }
+}
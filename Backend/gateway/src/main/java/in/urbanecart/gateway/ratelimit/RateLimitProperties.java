@@ -0,0 +1,18 @@
+package in.urbanecart.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limits used by {@link TokenBucketRateLimiter} for routes that do not set their own
+ * {@code token-bucket-rate-limiter.*} filter args, and the bound on how many client buckets are kept.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("20") int replenishRate,
+        @DefaultValue("40") int burstCapacity,
+        @DefaultValue("100000") long maxBuckets,
+        @DefaultValue("10m") Duration idleTimeout) {
+}
@@ -0,0 +1,136 @@
+package in.urbanecart.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token bucket per route and client, for the built-in {@code RequestRateLimiter} filter.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the theoretical arrival time of the next
+ * request (GCRA), which behaves exactly like a token bucket of {@code burstCapacity} tokens refilled at
+ * {@code replenishRate} per second, but is updated with one CAS and no lock.
+ */
+@Component
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket-rate-limiter";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Config defaults;
+    private final Cache<String, AtomicLong> buckets;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public TokenBucketRateLimiter(ConfigurationService configurationService, RateLimitProperties properties,
+                                  MeterRegistry registry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaults = new Config()
+                .setReplenishRate(properties.replenishRate())
+                .setBurstCapacity(properties.burstCapacity());
+        this.registry = registry;
+        // an idle bucket is full again, so dropping it loses nothing
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+
+        Gauge.builder("gateway.rate.limit.buckets", buckets, Cache::estimatedSize)
+                .description("Client buckets held by the gateway rate limiter")
+                .register(registry);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        return Mono.fromSupplier(() -> tryAcquire(routeId, id, System.nanoTime()));
+    }
+
+    Response tryAcquire(String routeId, String id, long now) {
+        Config config = getConfig().getOrDefault(routeId, defaults);
+        long interval = NANOS_PER_SECOND / config.getReplenishRate();
+        long tolerance = interval * config.getBurstCapacity();
+        AtomicLong bucket = buckets.get(routeId + "|" + id, key -> new AtomicLong(now));
+
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + interval * config.getRequestedTokens();
+            long allowedAt = next - tolerance;
+            if (allowedAt > now) {
+                rejected(routeId);
+                return new Response(false, headers(config, 0, allowedAt - now));
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                long remaining = (tolerance - (next - now)) / interval;
+                return new Response(true, headers(config, remaining, 0));
+            }
+        }
+    }
+
+    private Map<String, String> headers(Config config, long remaining, long retryAfterNanos) {
+        Map<String, String> headers = new HashMap<>(4);
+        headers.put("X-RateLimit-Remaining", Long.toString(remaining));
+        headers.put("X-RateLimit-Replenish-Rate", Integer.toString(config.getReplenishRate()));
+        headers.put("X-RateLimit-Burst-Capacity", Integer.toString(config.getBurstCapacity()));
+        if (retryAfterNanos > 0) {
+            // whole seconds, rounded up, so a client retrying on time is never rejected again
+            long seconds = (retryAfterNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+            headers.put("Retry-After", Long.toString(Math.max(1, seconds)));
+        }
+        return headers;
+    }
+
+    private void rejected(String routeId) {
+        rejections.computeIfAbsent(routeId, route -> Counter.builder("gateway.rate.limit.rejected")
+                        .tag("route", route)
+                        .description("Requests answered with 429 by the gateway rate limiter")
+                        .register(registry))
+                .increment();
+    }
+
+    public static class Config {
+
+        private int replenishRate = 1;
+        private int burstCapacity = 1;
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
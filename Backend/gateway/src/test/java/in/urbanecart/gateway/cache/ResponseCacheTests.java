@@ -0,0 +1,212 @@
+package in.urbanecart.gateway.cache;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResponseCacheTests {
+
+    private static final Map<String, AtomicInteger> originHits = new ConcurrentHashMap<>();
+    private static final AtomicInteger notModified = new AtomicInteger();
+    private static final HttpServer origin = startOrigin();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ResponseCacheGatewayFilterFactory responseCache;
+
+    @DynamicPropertySource
+    static void route(DynamicPropertyRegistry registry) {
+        // lists bind from a single property source, so the whole route is redefined here
+        String route = "spring.cloud.gateway.server.webflux.routes[0].";
+        registry.add(route + "id", () -> "product-service");
+        registry.add(route + "uri", () -> "http://localhost:" + origin.getAddress().getPort());
+        registry.add(route + "predicates[0]", () -> "Path=/api/products/**");
+        registry.add(route + "filters[0]", () -> "ResponseCache");
+        String orders = "spring.cloud.gateway.server.webflux.routes[1].";
+        registry.add(orders + "id", () -> "order-service");
+        registry.add(orders + "uri", () -> "http://localhost:" + origin.getAddress().getPort());
+        registry.add(orders + "predicates[0]", () -> "Path=/api/orders/**");
+        registry.add(orders + "filters[0]", () -> "ResponseCache");
+    }
+
+    @AfterAll
+    static void stopOrigin() {
+        origin.stop(0);
+    }
+
+    @Test
+    void secondReadIsServedFromCache() {
+        assertThat(get("/api/products/info?id=1", MediaType.APPLICATION_JSON)).isEqualTo("MISS");
+        assertThat(get("/api/products/info?id=1", MediaType.APPLICATION_JSON)).isEqualTo("HIT");
+        assertThat(hits("/api/products/info?id=1")).isEqualTo(1);
+    }
+
+    @Test
+    void burstOfMissesReachesOriginOnce() {
+        WebClient client = WebClient.create("http://localhost:" + port);
+        Flux.range(0, 20)
+                .flatMap(i -> client.get().uri("/api/products/info?id=2").retrieve().toBodilessEntity(), 20)
+                .blockLast(Duration.ofSeconds(10));
+
+        assertThat(hits("/api/products/info?id=2")).isEqualTo(1);
+    }
+
+    @Test
+    void variantsFollowVaryHeader() {
+        get("/api/products/vary", MediaType.APPLICATION_JSON);
+        get("/api/products/vary", MediaType.APPLICATION_XML);
+        assertThat(get("/api/products/vary", MediaType.APPLICATION_JSON)).isEqualTo("HIT");
+        assertThat(get("/api/products/vary", MediaType.APPLICATION_XML)).isEqualTo("HIT");
+        assertThat(hits("/api/products/vary")).isEqualTo(2);
+    }
+
+    @Test
+    void noStoreResponsesAreNotCached() {
+        get("/api/products/private", MediaType.APPLICATION_JSON);
+        get("/api/products/private", MediaType.APPLICATION_JSON);
+        assertThat(hits("/api/products/private")).isEqualTo(2);
+    }
+
+    @Test
+    void staleEntryIsServedWhileRevalidating() throws InterruptedException {
+        get("/api/products/swr", MediaType.APPLICATION_JSON);
+        Thread.sleep(1100);
+
+        assertThat(get("/api/products/swr", MediaType.APPLICATION_JSON)).isEqualTo("STALE");
+        for (int i = 0; i < 50 && notModified.get() == 0; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(notModified.get()).isEqualTo(1);
+        assertThat(get("/api/products/swr", MediaType.APPLICATION_JSON)).isEqualTo("HIT");
+    }
+
+    @Test
+    void writesInvalidateTheCache() {
+        get("/api/products/info?id=3", MediaType.APPLICATION_JSON);
+        webTestClient.post().uri("/api/products/add").exchange().expectStatus().isOk();
+        assertThat(get("/api/products/info?id=3", MediaType.APPLICATION_JSON)).isEqualTo("MISS");
+    }
+
+    @Test
+    void writeInvalidatesBeforeItsResponseCommits() {
+        get("/api/products/info?id=5", MediaType.APPLICATION_JSON);
+
+        // 1. A write through the product route, whose upstream response commits inside the chain
+        MockServerWebExchange write = MockServerWebExchange.from(MockServerHttpRequest.post("/api/products/add"));
+        write.getAttributes().put(GATEWAY_ROUTE_ATTR, Route.async().id("product-service")
+                .uri("http://localhost").predicate(exchange -> true).build());
+
+        // 2. A read sent as soon as the client has the write's response already misses
+        AtomicReference<String> readAfterCommit = new AtomicReference<>();
+        responseCache.apply(new Object()).filter(write, exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().setComplete().then(Mono.fromRunnable(() ->
+                    readAfterCommit.set(get("/api/products/info?id=5", MediaType.APPLICATION_JSON))));
+        }).block(Duration.ofSeconds(10));
+
+        assertThat(readAfterCommit.get()).isEqualTo("MISS");
+    }
+
+    @Test
+    void readOnlyPostsAndOtherRoutesLeaveTheCacheAlone() {
+        get("/api/products/info?id=4", MediaType.APPLICATION_JSON);
+        webTestClient.post().uri("/api/products/batch").exchange().expectStatus().isOk();
+        webTestClient.post().uri("/api/orders/place").exchange().expectStatus().isOk();
+        assertThat(get("/api/products/info?id=4", MediaType.APPLICATION_JSON)).isEqualTo("HIT");
+    }
+
+    private String get(String uri, MediaType accept) {
+        return webTestClient.get().uri(uri).accept(accept).exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getFirst("X-Cache");
+    }
+
+    private static int hits(String uri) {
+        return originHits.getOrDefault(uri, new AtomicInteger()).get();
+    }
+
+    private static HttpServer startOrigin() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newFixedThreadPool(8));
+            server.createContext("/", ResponseCacheTests::respond);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        String uri = exchange.getRequestURI().toString();
+        String path = exchange.getRequestURI().getPath();
+
+        if (path.equals("/api/products/swr") && "\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModified.incrementAndGet();
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=60");
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        int count = originHits.computeIfAbsent(uri, u -> new AtomicInteger()).incrementAndGet();
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        switch (path) {
+            case "/api/products/vary" -> exchange.getResponseHeaders().add("Vary", "Accept");
+            case "/api/products/private" -> exchange.getResponseHeaders().add("Cache-Control", "no-store");
+            case "/api/products/swr" -> {
+                exchange.getResponseHeaders().add("Cache-Control", "max-age=1, stale-while-revalidate=30");
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            }
+            default -> { }
+        }
+        byte[] body = ("{\"hits\":" + count + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package in.urbanecart.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyAwareLoadBalancerTests {
+
+    private final ServiceInstance fast = new DefaultServiceInstance("fast", "product-service", "localhost", 1001, false);
+    private final ServiceInstance slow = new DefaultServiceInstance("slow", "product-service", "localhost", 1002, false);
+    private final List<ServiceInstance> instances = List.of(fast, slow);
+    private final LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(
+            new SimpleObjectProvider<>(null), "product-service", Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+    @Test
+    void slowInstanceReceivesLessTraffic() {
+        int fastPicks = 0;
+        for (int i = 0; i < 1000; i++) {
+            Response<ServiceInstance> chosen = loadBalancer.choose(instances);
+            complete(chosen, chosen.getServer() == fast ? 5 : 50, CompletionContext.Status.SUCCESS);
+            if (chosen.getServer() == fast) {
+                fastPicks++;
+            }
+        }
+
+        assertThat(fastPicks).isGreaterThan(900);
+        assertThat(loadBalancer.outstanding(fast)).isZero();
+        assertThat(loadBalancer.outstanding(slow)).isZero();
+    }
+
+    @Test
+    void busyInstanceIsAvoidedAtEqualLatency() {
+        for (int i = 0; i < 10; i++) {
+            loadBalancer.onStartRequest(new DefaultRequest<>(new RequestDataContext()), new DefaultResponse(slow));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.choose(instances).getServer()).isSameAs(fast);
+        }
+    }
+
+    @Test
+    void failuresAreChargedAsSlowAnswers() {
+        complete(new DefaultResponse(slow), 1, CompletionContext.Status.FAILED);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.choose(instances).getServer()).isSameAs(fast);
+        }
+    }
+
+    private void complete(Response<ServiceInstance> chosen, long latencyMillis, CompletionContext.Status status) {
+        RequestDataContext context = new RequestDataContext();
+        DefaultRequest<Object> request = new DefaultRequest<>(context);
+        loadBalancer.onStartRequest(request, chosen);
+        context.setRequestStartTime(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        loadBalancer.onComplete(new CompletionContext<>(status, request, chosen));
+    }
+}
@@ -0,0 +1,138 @@
+package in.urbanecart.gateway.loadbalancer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Local instances that each serve at most two requests at a time, registered through the simple
+ * discovery client: the same load through three instances should finish well ahead of one.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LoadBalancedRoutingTests {
+
+    private static final int REQUESTS = 120;
+
+    private static final List<Instance> scaled = IntStream.range(0, 3).mapToObj(i -> new Instance()).toList();
+    private static final Instance single = new Instance();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void instances(DynamicPropertyRegistry registry) {
+        String routes = "spring.cloud.gateway.server.webflux.routes";
+        registry.add(routes + "[0].id", () -> "product-service");
+        registry.add(routes + "[0].uri", () -> "lb://product-service");
+        registry.add(routes + "[0].predicates[0]", () -> "Path=/api/products/**");
+        registry.add(routes + "[1].id", () -> "product-single");
+        registry.add(routes + "[1].uri", () -> "lb://product-single");
+        registry.add(routes + "[1].predicates[0]", () -> "Path=/single/**");
+        registry.add(routes + "[1].filters[0]", () -> "StripPrefix=1");
+
+        String discovery = "spring.cloud.discovery.client.simple.instances.";
+        for (int i = 0; i < scaled.size(); i++) {
+            Instance instance = scaled.get(i);
+            registry.add(discovery + "product-service[" + i + "].uri", instance::uri);
+            registry.add(discovery + "product-service[" + i + "].instance-id", () -> "product-" + instance.port());
+        }
+        registry.add(discovery + "product-single[0].uri", single::uri);
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        scaled.forEach(Instance::stop);
+        single.stop();
+    }
+
+    @Test
+    void throughputScalesWithInstanceCount() {
+        // warm up connections on both routes
+        run("/single/api/products/info", 8);
+        run("/api/products/info", 8);
+
+        long oneInstance = run("/single/api/products/info", REQUESTS);
+        long threeInstances = run("/api/products/info", REQUESTS);
+
+        assertThat(threeInstances).isLessThan(oneInstance / 2);
+        assertThat(scaled).allSatisfy(instance -> assertThat(instance.hits.get()).isGreaterThan(REQUESTS / 6));
+    }
+
+    private long run(String uri, int requests) {
+        WebClient client = WebClient.create("http://localhost:" + port);
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> client.get().uri(uri)
+                        .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                        .retrieve()
+                        .toBodilessEntity(), 24)
+                .blockLast(Duration.ofSeconds(60));
+        return System.nanoTime() - start;
+    }
+
+    private static final class Instance {
+
+        final AtomicInteger hits = new AtomicInteger();
+        private final HttpServer server;
+
+        Instance() {
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            server.setExecutor(Executors.newFixedThreadPool(2));
+            server.createContext("/", this::respond);
+            server.start();
+        }
+
+        int port() {
+            return server.getAddress().getPort();
+        }
+
+        String uri() {
+            return "http://localhost:" + port();
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void respond(HttpExchange exchange) throws IOException {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"port\":" + port() + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
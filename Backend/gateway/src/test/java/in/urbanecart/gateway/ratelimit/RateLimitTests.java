@@ -0,0 +1,77 @@
+package in.urbanecart.gateway.ratelimit;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class RateLimitTests {
+
+    private static final HttpServer origin = startOrigin();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void route(DynamicPropertyRegistry registry) {
+        String route = "spring.cloud.gateway.server.webflux.routes[0].";
+        registry.add(route + "id", () -> "product-service");
+        registry.add(route + "uri", () -> "http://localhost:" + origin.getAddress().getPort());
+        registry.add(route + "predicates[0]", () -> "Path=/api/products/**");
+        registry.add(route + "filters[0].name", () -> "RequestRateLimiter");
+        registry.add(route + "filters[0].args.key-resolver", () -> "#{@clientAddressKeyResolver}");
+        registry.add(route + "filters[0].args.token-bucket-rate-limiter.replenish-rate", () -> "1");
+        registry.add(route + "filters[0].args.token-bucket-rate-limiter.burst-capacity", () -> "3");
+    }
+
+    @AfterAll
+    static void stopOrigin() {
+        origin.stop(0);
+    }
+
+    @Test
+    void clientOverItsBurstGets429WithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            webTestClient.get().uri("/api/products?page=" + i).exchange().expectStatus().isOk();
+        }
+
+        webTestClient.get().uri("/api/products?page=3").exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1");
+
+        assertThat(meterRegistry.get("gateway.rate.limit.rejected").tag("route", "product-service")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private static HttpServer startOrigin() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
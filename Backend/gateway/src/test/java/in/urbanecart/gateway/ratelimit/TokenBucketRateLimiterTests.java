@@ -0,0 +1,81 @@
+package in.urbanecart.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(
+            null, new RateLimitProperties(2, 5, 1000, Duration.ofMinutes(1)), registry);
+
+    @Test
+    void burstIsAllowedThenRejectedWithRetryAfter() {
+        long now = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("products", "10.0.0.1", now).isAllowed()).isTrue();
+        }
+
+        Response rejected = rateLimiter.tryAcquire("products", "10.0.0.1", now);
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getHeaders()).containsEntry("Retry-After", "1")
+                .containsEntry("X-RateLimit-Remaining", "0");
+        assertThat(registry.get("gateway.rate.limit.rejected").tag("route", "products").counter().count())
+                .isEqualTo(1);
+
+        // other clients and other routes have their own buckets
+        assertThat(rateLimiter.tryAcquire("products", "10.0.0.2", now).isAllowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("orders", "10.0.0.1", now).isAllowed()).isTrue();
+    }
+
+    @Test
+    void tokensRefillAtReplenishRate() {
+        long now = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("products", "10.0.0.3", now);
+        }
+        assertThat(rateLimiter.tryAcquire("products", "10.0.0.3", now).isAllowed()).isFalse();
+
+        // 2 tokens per second: one more every 500ms
+        long later = now + TimeUnit.MILLISECONDS.toNanos(500);
+        assertThat(rateLimiter.tryAcquire("products", "10.0.0.3", later).isAllowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire("products", "10.0.0.3", later).isAllowed()).isFalse();
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        long now = System.nanoTime();
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> callers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            callers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (rateLimiter.tryAcquire("products", "10.0.0.4", now).isAllowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        CompletableFuture.allOf(callers.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        assertThat(allowed.get()).isEqualTo(5);
+    }
+}
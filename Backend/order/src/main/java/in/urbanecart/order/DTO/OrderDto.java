@@ -0,0 +1,23 @@
+package in.urbanecart.order.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderDto {
+    private Long id;
+    private String userId;
+    private String status;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+    private List<OrderLineDto> lines;
+}
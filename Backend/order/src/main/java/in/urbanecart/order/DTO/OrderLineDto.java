@@ -0,0 +1,18 @@
+package in.urbanecart.order.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderLineDto {
+    private Long productId;
+    private int quantity;
+    private BigDecimal unitPrice;
+}
@@ -0,0 +1,20 @@
+package in.urbanecart.order.DTO;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineRequest {
+    @NotNull
+    private Long productId;
+
+    @Positive
+    @Max(10_000)
+    private int quantity;
+}
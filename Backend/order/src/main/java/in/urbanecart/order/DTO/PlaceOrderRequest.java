@@ -0,0 +1,21 @@
+package in.urbanecart.order.DTO;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceOrderRequest {
+    @NotBlank
+    private String userId;
+
+    @NotEmpty
+    private List<@Valid OrderLineRequest> lines;
+}
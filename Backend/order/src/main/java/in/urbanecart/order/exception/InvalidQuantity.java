@@ -0,0 +1,12 @@
+package in.urbanecart.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidQuantity extends RuntimeException {
+
+    public InvalidQuantity(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package in.urbanecart.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class OrderNotFound extends RuntimeException {
+
+    public OrderNotFound(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package in.urbanecart.order.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class OutOfStock extends RuntimeException {
+
+    public OutOfStock(String message) {
+        super(message);
+    }
+}
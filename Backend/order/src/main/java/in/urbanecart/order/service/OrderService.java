@@ -0,0 +1,11 @@
+package in.urbanecart.order.service;
+
+import in.urbanecart.order.DTO.OrderDto;
+import in.urbanecart.order.DTO.PlaceOrderRequest;
+
+public interface OrderService {
+
+    OrderDto placeOrder(PlaceOrderRequest request);
+
+    OrderDto getOrder(Long id);
+}
@@ -0,0 +1,87 @@
+package in.urbanecart.order.service.impl;
+
+import in.urbanecart.order.DTO.OrderDto;
+import in.urbanecart.order.DTO.OrderLineDto;
+import in.urbanecart.order.DTO.OrderLineRequest;
+import in.urbanecart.order.DTO.PlaceOrderRequest;
+import in.urbanecart.order.entity.Order;
+import in.urbanecart.order.entity.OrderLine;
+import in.urbanecart.order.exception.InvalidQuantity;
+import in.urbanecart.order.exception.OrderNotFound;
+import in.urbanecart.order.repository.OrderRepository;
+import in.urbanecart.order.service.OrderService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+@Service
+public class OrderServiceImpl implements OrderService {
+
+    private final OrderRepository orderRepository;
+    private final StockReservation stockReservation;
+
+    public OrderServiceImpl(OrderRepository orderRepository, StockReservation stockReservation) {
+        this.orderRepository = orderRepository;
+        this.stockReservation = stockReservation;
+    }
+
+    @Override
+    @Transactional
+    public OrderDto placeOrder(PlaceOrderRequest request) {
+        // 1. One reservation per product, however often it appears in the request; a total that
+        //    overflows would turn into a negative reservation, which adds stock
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (OrderLineRequest line : request.getLines()) {
+            try {
+                quantities.merge(line.getProductId(), line.getQuantity(), Math::addExact);
+            } catch (ArithmeticException e) {
+                throw new InvalidQuantity("Quantity of product " + line.getProductId() + " is too large");
+            }
+        }
+
+        // 2. Take the stock; an OutOfStock here rolls back every line
+        Map<Long, BigDecimal> prices = stockReservation.reserve(quantities);
+
+        // 3. Record the order in the same transaction as the reservation
+        Order order = Order.builder()
+                .userId(request.getUserId())
+                .status("PLACED")
+                .build();
+        List<OrderLine> lines = new ArrayList<>(quantities.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            BigDecimal unitPrice = prices.get(entry.getKey());
+            lines.add(OrderLine.builder()
+                    .productId(entry.getKey())
+                    .quantity(entry.getValue())
+                    .unitPrice(unitPrice)
+                    .order(order)
+                    .build());
+            if (unitPrice != null) {
+                total = total.add(unitPrice.multiply(BigDecimal.valueOf(entry.getValue())));
+            }
+        }
+        order.setLines(lines);
+        order.setTotalAmount(total);
+
+        return toDto(orderRepository.save(order));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderDto getOrder(Long id) {
+        return orderRepository.findWithLinesById(id)
+                .map(this::toDto)
+                .orElseThrow(() -> new OrderNotFound("Order not found with id: " + id));
+    }
+
+    private OrderDto toDto(Order order) {
+        List<OrderLineDto> lines = order.getLines().stream()
+                .map(line -> new OrderLineDto(line.getProductId(), line.getQuantity(), line.getUnitPrice()))
+                .toList();
+        return new OrderDto(order.getId(), order.getUserId(), order.getStatus(), order.getTotalAmount(),
+                order.getCreatedAt(), lines);
+    }
+}
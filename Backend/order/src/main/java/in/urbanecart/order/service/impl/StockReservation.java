@@ -0,0 +1,158 @@
+package in.urbanecart.order.service.impl;
+
+import in.urbanecart.order.exception.OutOfStock;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Takes stock for an order straight from the {@code product} table. Each line is a conditional
+ * decrement, so a row is only changed while it still holds enough stock and concurrent checkouts
+ * can never drive it below zero; no row is read first and nothing is locked beyond the update itself.
+ * <p>
+ * Hot products, whose stock product-service has split into {@code stock_shard} rows, are skipped by
+ * that update and taken from one shard instead, so checkouts of the same product rarely meet on a row.
+ * A product whose shards are folded back into its row while a checkout is looking for them is taken
+ * from the row after all.
+ * <p>
+ * Each reserved line also appends a {@code STOCK_RESERVED} row to product-service's outbox in the same
+ * transaction, which is how product-service learns of stock it did not change itself.
+ */
+@Component
+public class StockReservation {
+
+    private static final String RESERVE_SQL =
+            "UPDATE product SET stock = stock - ?, updated_at = ? WHERE id = ? AND stock >= ? AND stock_shards IS NULL";
+    private static final String SHARD_COUNT_SQL = "SELECT stock_shards FROM product WHERE id = ?";
+    private static final String RESERVE_SHARD_SQL =
+            "UPDATE stock_shard SET stock = stock - ? WHERE product_id = ? AND shard_no = ? AND stock >= ?";
+    private static final String LOCK_SHARDS_SQL =
+            "SELECT shard_no, stock FROM stock_shard WHERE product_id = ? ORDER BY shard_no FOR UPDATE";
+    private static final String TAKE_SHARD_SQL =
+            "UPDATE stock_shard SET stock = stock - ? WHERE product_id = ? AND shard_no = ?";
+    private static final String OUTBOX_SQL = "INSERT INTO product_outbox (id, product_id, type, payload, created_at) " +
+            "VALUES (nextval('product_outbox_seq'), ?, 'STOCK_RESERVED', ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockReservation(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserves every line in one batch and returns the current price of each product. Must run inside
+     * the order's transaction: if any line is short the whole transaction rolls back, lines already
+     * taken included.
+     *
+     * @param quantities product id to quantity, iterated in id order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, BigDecimal> reserve(SortedMap<Long, Integer> quantities) {
+        // 1. All lines in one round-trip; id order means two orders lock shared rows in the same order
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> args.add(new Object[]{quantity, now, productId, quantity}));
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_SQL, args);
+
+        // 2. A line that matched no row is a hot product, short of stock, or names no product
+        List<Long> rejected = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            if (updated[i++] == 0 && !reserveFromShards(line.getKey(), line.getValue(), now)) {
+                rejected.add(line.getKey());
+            }
+        }
+        if (!rejected.isEmpty()) {
+            throw new OutOfStock("Not enough stock for products " + rejected);
+        }
+
+        // 3. Announce the reservation; it commits or rolls back with the order
+        List<Object[]> events = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> events.add(new Object[]{productId, "{\"quantity\":" + quantity + "}", now}));
+        jdbcTemplate.batchUpdate(OUTBOX_SQL, events);
+
+        // 4. Prices as of the reservation
+        String placeholders = String.join(",", Collections.nCopies(quantities.size(), "?"));
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        jdbcTemplate.query("SELECT id, price FROM product WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    prices.put(rs.getLong(1), rs.getBigDecimal(2));
+                }, quantities.keySet().toArray());
+        return prices;
+    }
+
+    private boolean reserveFromShards(Long productId, int quantity, Timestamp now) {
+        Integer shards = jdbcTemplate.query(SHARD_COUNT_SQL, rs -> rs.next() ? (Integer) rs.getObject(1) : null, productId);
+        if (shards == null || shards < 1) {
+            // short of stock, no such product, or sharding was disabled since the first update
+            return reserveFromProduct(productId, quantity, now);
+        }
+
+        // 1. Any single shard that can cover the line, starting at a random one to spread checkouts.
+        //    A miss may still have locked the row it looked at, so it is undone to a savepoint:
+        //    holding it would let this checkout deadlock with others gathering from several shards
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int k = 0; k < shards; k++) {
+            int shardNo = (start + k) % shards;
+            boolean reserved = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                Savepoint savepoint = connection.setSavepoint();
+                try (PreparedStatement ps = connection.prepareStatement(RESERVE_SHARD_SQL)) {
+                    ps.setInt(1, quantity);
+                    ps.setLong(2, productId);
+                    ps.setInt(3, shardNo);
+                    ps.setInt(4, quantity);
+                    if (ps.executeUpdate() == 1) {
+                        connection.releaseSavepoint(savepoint);
+                        return true;
+                    }
+                }
+                connection.rollback(savepoint);
+                return false;
+            });
+            if (reserved) {
+                return true;
+            }
+        }
+
+        // 2. Otherwise gather it from several shards, locked in shard order
+        Map<Integer, Integer> stock = new LinkedHashMap<>();
+        jdbcTemplate.query(LOCK_SHARDS_SQL, rs -> {
+            stock.put(rs.getInt(1), rs.getInt(2));
+        }, productId);
+        if (stock.isEmpty()) {
+            // the shards were folded back into the product row while this checkout waited on them
+            return reserveFromProduct(productId, quantity, now);
+        }
+        if (stock.values().stream().mapToInt(Integer::intValue).sum() < quantity) {
+            return false;
+        }
+        List<Object[]> takes = new ArrayList<>();
+        int remaining = quantity;
+        for (Map.Entry<Integer, Integer> shard : stock.entrySet()) {
+            int take = Math.min(remaining, shard.getValue());
+            if (take > 0) {
+                takes.add(new Object[]{take, productId, shard.getKey()});
+                remaining -= take;
+            }
+            if (remaining == 0) {
+                break;
+            }
+        }
+        jdbcTemplate.batchUpdate(TAKE_SHARD_SQL, takes);
+        return true;
+    }
+
+    private boolean reserveFromProduct(Long productId, int quantity, Timestamp now) {
+        return jdbcTemplate.update(RESERVE_SQL, quantity, now, productId, quantity) == 1;
+    }
+}
@@ -0,0 +1,238 @@
+package in.urbanecart.order.service;
+
+import in.urbanecart.order.DTO.OrderDto;
+import in.urbanecart.order.DTO.OrderLineRequest;
+import in.urbanecart.order.DTO.PlaceOrderRequest;
+import in.urbanecart.order.exception.InvalidQuantity;
+import in.urbanecart.order.exception.OutOfStock;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderPlacementTests {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        insertProduct(1001L, "10.00", 100);
+        insertProduct(1002L, "2.50", 60);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<OrderDto>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 16; t++) {
+                Random random = new Random(t);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    OrderDto last = null;
+                    for (int i = 0; i < 20; i++) {
+                        List<OrderLineRequest> lines = new ArrayList<>();
+                        lines.add(new OrderLineRequest(1001L, 1 + random.nextInt(3)));
+                        if (random.nextBoolean()) {
+                            lines.add(new OrderLineRequest(1002L, 1 + random.nextInt(2)));
+                        }
+                        try {
+                            last = orderService.placeOrder(new PlaceOrderRequest("stress", lines));
+                        } catch (OutOfStock e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return last;
+                }));
+            }
+            start.countDown();
+            for (Future<OrderDto> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Stock left plus stock in placed orders is exactly what there was, and never below zero
+        int stock1 = stock(1001L);
+        int stock2 = stock(1002L);
+        assertThat(stock1).isGreaterThanOrEqualTo(0);
+        assertThat(stock2).isGreaterThanOrEqualTo(0);
+        assertThat(stock1 + ordered(1001L)).isEqualTo(100);
+        assertThat(stock2 + ordered(1002L)).isEqualTo(60);
+        assertThat(rejected.get()).as("demand exceeds stock").isPositive();
+    }
+
+    @Test
+    void concurrentCheckoutsOfAShardedProductNeverOversell() throws Exception {
+        insertProduct(4001L, "1.00", 0);
+        jdbcTemplate.update("UPDATE product SET stock_shards = 4 WHERE id = 4001");
+        for (int shard = 0; shard < 4; shard++) {
+            jdbcTemplate.update("INSERT INTO stock_shard (product_id, shard_no, stock) VALUES (4001, ?, 25)", shard);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 16; t++) {
+                Random random = new Random(t);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int placed = 0;
+                    for (int i = 0; i < 20; i++) {
+                        int quantity = 1 + random.nextInt(4);
+                        try {
+                            orderService.placeOrder(new PlaceOrderRequest("flash-sale",
+                                    List.of(new OrderLineRequest(4001L, quantity))));
+                            placed += quantity;
+                        } catch (OutOfStock e) {
+                            // sold out
+                        }
+                    }
+                    return placed;
+                }));
+            }
+            start.countDown();
+            int placed = 0;
+            for (Future<Integer> future : futures) {
+                placed += future.get(60, TimeUnit.SECONDS);
+            }
+
+            int left = jdbcTemplate.queryForObject("SELECT SUM(stock) FROM stock_shard WHERE product_id = 4001",
+                    Integer.class);
+            int negative = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM stock_shard WHERE product_id = 4001 AND stock < 0", Integer.class);
+            assertThat(negative).isZero();
+            assertThat(left + placed).isEqualTo(100);
+            assertThat(ordered(4001L)).isEqualTo(placed);
+            // orders spanning shards drain the last units
+            assertThat(left).isLessThan(4);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void checkoutRacingShardDisableTakesStockFromTheProductRow() throws Exception {
+        insertProduct(4002L, "1.00", 0);
+        jdbcTemplate.update("UPDATE product SET stock_shards = 2 WHERE id = 4002");
+        for (int shard = 0; shard < 2; shard++) {
+            jdbcTemplate.update("INSERT INTO stock_shard (product_id, shard_no, stock) VALUES (4002, ?, 5)", shard);
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch locked = new CountDownLatch(1);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            // 1. As product-service disables sharding: product row and shards locked, then folded back
+            //    once the checkout is waiting on the shards
+            Future<?> disable = executor.submit(() -> tx.executeWithoutResult(status -> {
+                jdbcTemplate.queryForList("SELECT id FROM product WHERE id = 4002 FOR UPDATE");
+                jdbcTemplate.queryForList("SELECT shard_no FROM stock_shard WHERE product_id = 4002 FOR UPDATE");
+                locked.countDown();
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                jdbcTemplate.update("DELETE FROM stock_shard WHERE product_id = 4002");
+                jdbcTemplate.update("UPDATE product SET stock = 10, stock_shards = NULL WHERE id = 4002");
+            }));
+            locked.await();
+
+            // 2. The checkout found shards, and finds the stock in the product row once they are gone
+            orderService.placeOrder(new PlaceOrderRequest("user-4", List.of(new OrderLineRequest(4002L, 3))));
+            disable.get(10, TimeUnit.SECONDS);
+
+            assertThat(stock(4002L)).isEqualTo(7);
+            assertThat(reservedEvents(4002L)).containsExactly("{\"quantity\":3}");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void orderWithOneShortLineReservesNothing() {
+        insertProduct(2001L, "5.00", 10);
+        insertProduct(2002L, "7.00", 1);
+
+        assertThatThrownBy(() -> orderService.placeOrder(new PlaceOrderRequest("user-1", List.of(
+                new OrderLineRequest(2001L, 3), new OrderLineRequest(2002L, 2)))))
+                .isInstanceOf(OutOfStock.class)
+                .hasMessageContaining("2002");
+
+        assertThat(stock(2001L)).isEqualTo(10);
+        assertThat(stock(2002L)).isEqualTo(1);
+        assertThat(reservedEvents(2001L)).isEmpty();
+    }
+
+    @Test
+    void repeatedProductsAreReservedOnceAndPriced() {
+        insertProduct(3001L, "4.00", 5);
+
+        OrderDto order = orderService.placeOrder(new PlaceOrderRequest("user-2", List.of(
+                new OrderLineRequest(3001L, 2), new OrderLineRequest(3001L, 1))));
+
+        assertThat(order.getLines()).singleElement().satisfies(line -> {
+            assertThat(line.getQuantity()).isEqualTo(3);
+            assertThat(line.getUnitPrice()).isEqualByComparingTo("4.00");
+        });
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("12.00");
+        assertThat(orderService.getOrder(order.getId()).getLines()).hasSize(1);
+        assertThat(stock(3001L)).isEqualTo(2);
+        assertThat(reservedEvents(3001L)).containsExactly("{\"quantity\":3}");
+    }
+
+    @Test
+    void repeatedLinesWhoseTotalOverflowsAreRejected() {
+        insertProduct(3002L, "1.00", 5);
+
+        assertThatThrownBy(() -> orderService.placeOrder(new PlaceOrderRequest("user-3", List.of(
+                new OrderLineRequest(3002L, 2_000_000_000), new OrderLineRequest(3002L, 2_000_000_000)))))
+                .isInstanceOf(InvalidQuantity.class)
+                .hasMessageContaining("3002");
+
+        assertThat(stock(3002L)).isEqualTo(5);
+        assertThat(reservedEvents(3002L)).isEmpty();
+    }
+
+    private void insertProduct(Long id, String price, int stock) {
+        jdbcTemplate.update("INSERT INTO product (id, price, stock) VALUES (?, ?, ?)", id, new BigDecimal(price), stock);
+    }
+
+    private int stock(Long id) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM product WHERE id = ?", Integer.class, id);
+    }
+
+    private List<String> reservedEvents(Long productId) {
+        return jdbcTemplate.queryForList("SELECT payload FROM product_outbox WHERE product_id = ? AND type = 'STOCK_RESERVED'",
+                String.class, productId);
+    }
+
+    private int ordered(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM order_line WHERE product_id = ?",
+                Integer.class, productId);
+    }
+}
@@ -0,0 +1,24 @@
+CREATE TABLE IF NOT EXISTS product (
+    id BIGINT PRIMARY KEY,
+    price NUMERIC(38, 2),
+    stock INTEGER,
+    stock_shards INTEGER,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS stock_shard (
+    product_id BIGINT NOT NULL,
+    shard_no INTEGER NOT NULL,
+    stock INTEGER NOT NULL,
+    PRIMARY KEY (product_id, shard_no)
+);
+
+CREATE SEQUENCE IF NOT EXISTS product_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS product_outbox (
+    id BIGINT PRIMARY KEY,
+    product_id BIGINT,
+    type VARCHAR(40),
+    payload VARCHAR(2000),
+    created_at TIMESTAMP(6)
+);
@@ -0,0 +1,104 @@
+package in.urbanecart.products.benchmark;
+
+import in.urbanecart.products.ProductServiceApplication;
+import in.urbanecart.products.entity.*;
+import in.urbanecart.products.repository.CategoryRepository;
+import in.urbanecart.products.repository.ProductRepository;
+import in.urbanecart.products.repository.TagRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1,000 products with 2 images, 2 reviews and 2 tag links each saved through {@code saveAll}, on the
+ * test profile's in-memory H2, in rows per second. {@code batchSize=0} sends one INSERT per row as the
+ * IDENTITY ids did; 50 is the configured batch that pooled sequence ids allow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProductBatchInsertBenchmark {
+
+    private static final int PRODUCTS = 1000;
+    // products + images + reviews + product_tags
+    private static final int ROWS = PRODUCTS * 7;
+
+    @Param({"0", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private JdbcTemplate jdbcTemplate;
+    private Category category;
+    private List<Tag> tags;
+    private List<Product> products;
+    private int run;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(ProductServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .profiles("test")
+                .properties("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "logging.level.root=error")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        category = context.getBean(CategoryRepository.class)
+                .saveAndFlush(Category.builder().name("benchmark").slug("benchmark").build());
+        tags = context.getBean(TagRepository.class)
+                .saveAllAndFlush(List.of(new Tag("benchmark-a"), new Tag("benchmark-b")));
+    }
+
+    // saveAll assigns ids, so every invocation inserts new entities
+    @Setup(Level.Invocation)
+    public void newProducts() {
+        run++;
+        products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = Product.builder()
+                    .title("benchmark-" + run + "-" + i)
+                    .category(category)
+                    .price(BigDecimal.ONE)
+                    .tags(new ArrayList<>(tags))
+                    .build();
+            product.setImages(new ArrayList<>(List.of(
+                    new ProductImage(null, "https://img/" + i + "/0", product),
+                    new ProductImage(null, "https://img/" + i + "/1", product))));
+            product.setReviews(new ArrayList<>(List.of(
+                    Review.builder().rating(5).product(product).build(),
+                    Review.builder().rating(3).product(product).build())));
+            products.add(product);
+        }
+    }
+
+    // every iteration inserts into the same empty tables
+    @TearDown(Level.Iteration)
+    public void deleteProducts() {
+        jdbcTemplate.batchUpdate("DELETE FROM product_tags", "DELETE FROM product_image",
+                "DELETE FROM review", "DELETE FROM product");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Product> saveAll() {
+        return productRepository.saveAll(products);
+    }
+}
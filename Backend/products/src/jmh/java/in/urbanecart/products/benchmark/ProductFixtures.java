@@ -0,0 +1,81 @@
+package in.urbanecart.products.benchmark;
+
+import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.entity.*;
+import in.urbanecart.products.mapper.ProductMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Catalog-shaped test data: 5 tags, 5 images, 5 reviews and a long description per product.
+ */
+public final class ProductFixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final String DESCRIPTION = "Lightweight, durable and made to last. ".repeat(40);
+
+    private ProductFixtures() {
+    }
+
+    public static Product product(long id) {
+        Category category = Category.builder().id(id % 20).name("Category " + id % 20)
+                .slug("category-" + id % 20).build();
+
+        Product product = Product.builder()
+                .id(id)
+                .title("Product " + id)
+                .description(DESCRIPTION)
+                .category(category)
+                .brand("Brand " + id % 50)
+                .sku("SKU-" + id)
+                .price(new BigDecimal("49.99"))
+                .discountPercentage(new BigDecimal("7.50"))
+                .rating(new BigDecimal("4.35"))
+                .stock(120)
+                .weight(3)
+                .width(10.5f).height(4.2f).depth(22.0f)
+                .warrantyInformation("1 year warranty")
+                .shippingInformation("Ships in 2 days")
+                .availabilityStatus("In Stock")
+                .returnPolicy("30 days return policy")
+                .minimumOrderQuantity(1)
+                .barcode("0123456789012")
+                .qrCode("https://cdn.example.com/qr/" + id + ".png")
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .thumbnail("https://cdn.example.com/p/" + id + "/thumb.webp")
+                .tags(IntStream.range(0, 5).mapToObj(t -> new Tag((long) t, "tag-" + t, null)).toList())
+                .build();
+
+        List<ProductImage> images = new ArrayList<>();
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            images.add(new ProductImage((long) i, "https://cdn.example.com/p/" + id + "/" + i + ".webp", product));
+            reviews.add(Review.builder().id((long) i).rating(4).comment("Very happy with it")
+                    .date(NOW).reviewerName("Reviewer " + i).reviewerEmail("reviewer" + i + "@example.com")
+                    .product(product).build());
+        }
+        product.setImages(images);
+        product.setReviews(reviews);
+        return product;
+    }
+
+    public static List<Product> products(int count) {
+        return IntStream.range(0, count).mapToObj(i -> product(i + 1)).toList();
+    }
+
+    public static ProductDto productDto(long id) {
+        ProductDto dto = ProductMapper.toDto(product(id));
+        dto.setId(null);
+        return dto;
+    }
+
+    public static List<ProductDto> productDtos(int count) {
+        return ProductMapper.toDtoList(products(count));
+    }
+
+}
@@ -0,0 +1,37 @@
+package in.urbanecart.products.benchmark;
+
+import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.entity.Product;
+import in.urbanecart.products.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    private Product product;
+    private List<Product> page;
+
+    @Setup
+    public void setUp() {
+        product = ProductFixtures.product(1);
+        page = ProductFixtures.products(20);
+    }
+
+    @Benchmark
+    public ProductDto toDto() {
+        return ProductMapper.toDto(product);
+    }
+
+    @Benchmark
+    public List<ProductDto> toDtoList() {
+        return ProductMapper.toDtoList(page);
+    }
+}
@@ -0,0 +1,67 @@
+package in.urbanecart.products.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.urbanecart.products.DTO.ProductBatchResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 100-product batch response, as cart and order services receive it, encoded and decoded in each format
+ * the product service can negotiate. The payload size of each format is the {@code size:bytes} result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private ProductBatchResponse batch;
+    private byte[] encoded;
+
+    // Events add up over iterations, so size is measured in a single shot
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        batch = new ProductBatchResponse(ProductFixtures.productDtos(100), List.of());
+        encoded = objectMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public byte[] size(Payload payload) throws Exception {
+        byte[] bytes = objectMapper.writeValueAsBytes(batch);
+        payload.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public ProductBatchResponse decode() throws Exception {
+        return objectMapper.readValue(encoded, ProductBatchResponse.class);
+    }
+}
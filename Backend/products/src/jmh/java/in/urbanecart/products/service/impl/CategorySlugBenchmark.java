@@ -0,0 +1,22 @@
+package in.urbanecart.products.service.impl;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategorySlugBenchmark {
+
+    @Param({"Laptops", "Home & Kitchen -- Small Appliances!!"})
+    private String name;
+
+    @Benchmark
+    public String generateSlug() {
+        return CategoryServiceImpl.generateSlug(name);
+    }
+}
@@ -0,0 +1,46 @@
+package in.urbanecart.products.service.impl;
+
+import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.benchmark.ProductFixtures;
+import in.urbanecart.products.entity.Category;
+import in.urbanecart.products.entity.Product;
+import in.urbanecart.products.entity.Tag;
+import in.urbanecart.products.cache.TagResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO to entity conversion done for every product of a bulk import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductBuildBenchmark {
+
+    private ProductBatchWriter writer;
+    private ProductDto dto;
+    private Map<String, Tag> tagMap;
+    private Category category;
+
+    @Setup
+    public void setUp() {
+        writer = new ProductBatchWriter(null, null, null);
+        dto = ProductFixtures.productDto(1);
+        category = Category.builder().id(1L).name("Category 1").slug("category-1").build();
+        tagMap = new HashMap<>();
+        for (String tag : dto.getTags()) {
+            tagMap.put(TagResolver.normalize(tag), new Tag(tag));
+        }
+    }
+
+    @Benchmark
+    public Product buildProductFromDto() {
+        return writer.buildProductFromDto(dto, tagMap, category);
+    }
+}
@@ -0,0 +1,18 @@
+package in.urbanecart.products.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBatchResponse {
+    // in the order the ids were asked for
+    private List<ProductDto> products;
+    private List<Long> missing;
+}
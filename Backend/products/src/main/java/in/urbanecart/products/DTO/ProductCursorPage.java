@@ -0,0 +1,19 @@
+package in.urbanecart.products.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductCursorPage {
+    private List<ProductDto> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -1,6 +1,7 @@
 package in.urbanecart.products.DTO;
 
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -19,6 +20,7 @@ public class ProductDto {
     private BigDecimal price;
     private BigDecimal discountPercentage;
     private BigDecimal rating;
+    private Integer reviewCount;
     private Integer stock;
 
     private List<String> tags;
@@ -34,6 +36,8 @@ public class ProductDto {
     private String shippingInformation;
     private String availabilityStatus;
 
+    // Accepted on create and import only; reviews are read page by page from /api/products/{id}/reviews
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private List<ReviewDto> reviews;
 
     private String returnPolicy;
@@ -0,0 +1,22 @@
+package in.urbanecart.products.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFilterResponse {
+    private List<ProductDto> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    // facet name -> value -> number of matching products
+    private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,20 @@
+package in.urbanecart.products.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductIngestResult {
+    private long line;
+    private String status;
+    private Long id;
+    private String sku;
+    private String error;
+}
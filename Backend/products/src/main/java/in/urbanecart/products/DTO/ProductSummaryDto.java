@@ -0,0 +1,25 @@
+package in.urbanecart.products.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// What a catalog grid tile needs; read straight from the product columns
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSummaryDto {
+    private Long id;
+    private String title;
+    private String category;
+    private String brand;
+    private BigDecimal price;
+    private BigDecimal discountPercentage;
+    private BigDecimal rating;
+    private String availabilityStatus;
+    private String thumbnail;
+}
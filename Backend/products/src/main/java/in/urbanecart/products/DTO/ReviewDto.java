@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class ReviewDto {
+    private Long id;
     private int rating;
     private String comment;
     private LocalDateTime date;
@@ -0,0 +1,19 @@
+package in.urbanecart.products.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockShardsDto {
+    private Long productId;
+    private int totalStock;
+    // stock per shard, by shard number; empty when the product is not sharded
+    private List<Integer> shards;
+}
@@ -0,0 +1,59 @@
+package in.urbanecart.products.cache;
+
+import in.urbanecart.products.entity.Category;
+import in.urbanecart.products.repository.CategoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory name/slug index of categories. Loaded once at startup and kept current by
+ * {@link in.urbanecart.products.service.impl.CategoryServiceImpl}; a miss falls back to the
+ * database so categories created by another instance are still found.
+ */
+@Component
+public class CategoryResolver {
+
+    private final CategoryRepository categoryRepository;
+    private final Map<String, Category> index = new ConcurrentHashMap<>();
+
+    public CategoryResolver(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        registerAll(categoryRepository.findAll());
+    }
+
+    public Optional<Category> resolve(String nameOrSlug) {
+        String input = nameOrSlug.trim();
+        Category cached = index.get(normalize(input));
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<Category> loaded = categoryRepository.findByNameIgnoreCaseOrSlugIgnoreCase(input, input);
+        loaded.ifPresent(this::register);
+        return loaded;
+    }
+
+    public void register(Category category) {
+        // slug first so that a name always wins over a colliding slug
+        index.put(normalize(category.getSlug()), category);
+        index.put(normalize(category.getName()), category);
+    }
+
+    public void registerAll(Collection<Category> categories) {
+        categories.forEach(this::register);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase();
+    }
+}
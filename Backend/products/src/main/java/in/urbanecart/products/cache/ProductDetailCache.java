@@ -0,0 +1,56 @@
+package in.urbanecart.products.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.urbanecart.products.DTO.ProductDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of mapped product details keyed by product id.
+ * Concurrent misses for the same id wait on a single load instead of each querying the database.
+ */
+@Component
+public class ProductDetailCache {
+
+    private final Cache<Long, ProductDto> cache;
+
+    public ProductDetailCache(MeterRegistry meterRegistry,
+                              @Value("${products.cache.detail.max-size:10000}") long maxSize,
+                              @Value("${products.cache.detail.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size ... on /actuator/metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "productDetails");
+    }
+
+    public ProductDto get(Long id, Function<Long, ProductDto> loader) {
+        return cache.get(id, loader);
+    }
+
+    // Present ids are served from memory; the rest go to the loader in one call. Ids the loader
+    // does not return are absent from the result.
+    public Map<Long, ProductDto> getAll(Collection<Long> ids, Function<Set<? extends Long>, Map<Long, ProductDto>> loader) {
+        return cache.getAll(ids, loader);
+    }
+
+    public void evict(Long id) {
+        if (id != null) cache.invalidate(id);
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+}
@@ -0,0 +1,66 @@
+package in.urbanecart.products.cache;
+
+import in.urbanecart.products.facet.ProductFacetIndexer;
+import in.urbanecart.products.search.ProductSearchIndexer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Evicts this instance's cached details of products changed by anyone, anywhere: other instances,
+ * order-service reserving stock, the stock rebalancer. The same products are refreshed in the search
+ * and facet indexes, so filters see other instances' price, rating and availability changes. Relayed
+ * events reach only the instance that relays them, so this poll is what bounds how stale every other
+ * instance can be, at the sync interval plus the lookback. Every such write moves {@code updated_at},
+ * which is indexed.
+ * <p>
+ * The lookback re-reads a few seconds before the previous poll, for rows whose {@code updated_at}
+ * was set before that poll but committed after it.
+ */
+@Slf4j
+@Component
+public class ProductDetailCacheSync {
+
+    private static final String CHANGED_SQL = "SELECT id FROM product WHERE updated_at > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductDetailCache productDetailCache;
+    private final ProductSearchIndexer productSearchIndexer;
+    private final ProductFacetIndexer productFacetIndexer;
+    private final Duration lookback;
+
+    private volatile LocalDateTime lastSync = LocalDateTime.now();
+
+    public ProductDetailCacheSync(JdbcTemplate jdbcTemplate, ProductDetailCache productDetailCache,
+                                  ProductSearchIndexer productSearchIndexer, ProductFacetIndexer productFacetIndexer,
+                                  @Value("${products.cache.detail.sync-lookback:5s}") Duration lookback) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productDetailCache = productDetailCache;
+        this.productSearchIndexer = productSearchIndexer;
+        this.productFacetIndexer = productFacetIndexer;
+        this.lookback = lookback;
+    }
+
+    @Scheduled(fixedDelayString = "${products.cache.detail.sync-interval:2s}")
+    public void sync() {
+        LocalDateTime started = LocalDateTime.now();
+        try {
+            List<Long> changed = jdbcTemplate.queryForList(CHANGED_SQL, Long.class, lastSync.minus(lookback));
+            productDetailCache.evictAll(changed);
+            if (!changed.isEmpty()) {
+                productSearchIndexer.reindex(changed);
+                productFacetIndexer.reindex(changed);
+            }
+            lastSync = started;
+        } catch (DataAccessException e) {
+            log.warn("Product detail cache sync failed, retrying on the next run", e);
+        }
+    }
+}
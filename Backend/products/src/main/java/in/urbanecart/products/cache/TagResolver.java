@@ -0,0 +1,81 @@
+package in.urbanecart.products.cache;
+
+import in.urbanecart.products.entity.Tag;
+import in.urbanecart.products.repository.TagRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of tags by lower-cased name. Only names that are not cached yet
+ * go to the database, where they are upserted with {@code ON CONFLICT DO NOTHING}
+ * and read back, without any lock shared between imports or instances.
+ */
+@Component
+public class TagResolver {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO tag (id, name) VALUES (nextval('tag_seq'), ?) ON CONFLICT DO NOTHING";
+    private static final int UPSERT_BATCH_SIZE = 50;
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Tag> index = new ConcurrentHashMap<>();
+
+    public TagResolver(TagRepository tagRepository, JdbcTemplate jdbcTemplate) {
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        tagRepository.findAll().forEach(tag -> index.put(normalize(tag.getName()), tag));
+    }
+
+    public Map<String, Tag> resolveAll(Collection<String> names) {
+        Set<String> wanted = names.stream()
+                .map(TagResolver::normalize)
+                .collect(Collectors.toSet());
+
+        Map<String, Tag> resolved = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String name : wanted) {
+            Tag tag = index.get(name);
+            if (tag != null) {
+                resolved.put(name, tag);
+            } else {
+                missing.add(name);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            resolved.putAll(loadOrCreate(missing));
+        }
+        return resolved;
+    }
+
+    private Map<String, Tag> loadOrCreate(Set<String> names) {
+        // 1. Insert the missing names; rows another import already created are skipped by the
+        //    unique constraint. Sorted so that concurrent batches lock keys in the same order
+        //    and cannot deadlock on each other's uncommitted rows
+        List<String> batch = new ArrayList<>(new TreeSet<>(names));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batch, UPSERT_BATCH_SIZE,
+                (ps, name) -> ps.setString(1, name));
+
+        // 2. Read back every requested tag, whoever inserted it
+        Map<String, Tag> tagMap = tagRepository.findAllByNameIn(names).stream()
+                .collect(Collectors.toMap(tag -> normalize(tag.getName()), t -> t, (a, b) -> a));
+
+        tagMap.forEach(index::putIfAbsent);
+        return tagMap;
+    }
+
+    public static String normalize(String name) {
+        return name.trim().toLowerCase();
+    }
+}
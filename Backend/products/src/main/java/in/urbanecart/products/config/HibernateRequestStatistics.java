@@ -0,0 +1,40 @@
+package in.urbanecart.products.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Counts SQL statements and entity loads made by the current thread. Hibernate's own
+ * statistics are global, so they cannot tell which request issued which queries.
+ */
+public class HibernateRequestStatistics implements StatementInspector, Interceptor {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[2]);
+
+    public static void reset() {
+        long[] counts = COUNTS.get();
+        counts[0] = 0;
+        counts[1] = 0;
+    }
+
+    public static long statements() {
+        return COUNTS.get()[0];
+    }
+
+    public static long entityLoads() {
+        return COUNTS.get()[1];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNTS.get()[0]++;
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        COUNTS.get()[1]++;
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package in.urbanecart.products.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+@Configuration
+public class ObservabilityConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatisticsCustomizer() {
+        HibernateRequestStatistics statistics = new HibernateRequestStatistics();
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, statistics);
+            properties.put(AvailableSettings.INTERCEPTOR, statistics);
+        };
+    }
+
+    /**
+     * Records hibernate.request.statements and hibernate.request.entity.loads per request,
+     * tagged with the matched URI pattern.
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> requestStatisticsFilter(MeterRegistry meterRegistry) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                HibernateRequestStatistics.reset();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+                    DistributionSummary.builder("hibernate.request.statements")
+                            .tag("uri", uri)
+                            .register(meterRegistry)
+                            .record(HibernateRequestStatistics.statements());
+                    DistributionSummary.builder("hibernate.request.entity.loads")
+                            .tag("uri", uri)
+                            .register(meterRegistry)
+                            .record(HibernateRequestStatistics.entityLoads());
+                }
+            }
+        };
+        return new FilterRegistrationBean<>(filter);
+    }
+}
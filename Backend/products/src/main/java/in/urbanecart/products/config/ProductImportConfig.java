@@ -0,0 +1,37 @@
+package in.urbanecart.products.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ProductImportConfig {
+
+    /**
+     * Shared pool for bulk product batches. Every running batch holds a connection, so by
+     * default it is sized to the smaller of the core count and the Hikari pool, leaving two
+     * connections free for reads. When the queue is full the submitting thread runs the batch
+     * itself, which throttles callers instead of queueing without bound.
+     */
+    @Bean(name = "productImportExecutor")
+    public ThreadPoolTaskExecutor productImportExecutor(
+            @Value("${products.ingest.parallelism:0}") int parallelism,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize) {
+
+        int threads = parallelism > 0 ? parallelism
+                : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), connectionPoolSize - 2));
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 4);
+        executor.setThreadNamePrefix("product-import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,122 @@
+package in.urbanecart.products.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import in.urbanecart.products.datasource.ReadYourWrites;
+import in.urbanecart.products.datasource.ReplicaLagMonitor;
+import in.urbanecart.products.datasource.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read/write split, active once {@code products.datasource.replica.url} is set. {@code spring.datasource}
+ * stays the primary; read-only transactions (listing, detail, search) use the replica pool while it is
+ * within {@code max-lag} of the primary, and a client that has just written reads from the primary for
+ * {@code read-your-writes-window}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "products.datasource.replica", name = "url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("products.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryPool(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("products.datasource.replica.hikari")
+    public HikariDataSource replicaPool(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaPool") DataSource replicaPool,
+                                               @Value("${products.datasource.replica.max-lag:2s}") Duration maxLag,
+                                               @Value("${products.datasource.replica.lag-query:}") String lagQuery,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaPool, lagQuery.isBlank() ? ReplicaLagMonitor.POSTGRES_LAG_QUERY : lagQuery,
+                maxLag, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(
+            @Value("${products.datasource.replica.read-your-writes-window:${products.datasource.replica.max-lag:2s}}") Duration window,
+            @Value("${products.datasource.replica.read-your-writes-clients:100000}") long maxClients) {
+        return new ReadYourWrites(window, maxClients);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryPool") DataSource primaryPool,
+                                 @Qualifier("replicaPool") DataSource replicaPool,
+                                 ReplicaLagMonitor replicaLagMonitor, ReadYourWrites readYourWrites) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryPool, replicaPool, replicaLagMonitor, readYourWrites));
+    }
+
+    // Under open-in-view a session would otherwise keep its first connection, and so its first route, for the whole request
+    @Bean
+    public HibernatePropertiesCustomizer routePerTransactionCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Requests reach this service through the gateway, so the client is the first X-Forwarded-For hop
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> readYourWritesFilter() {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                String forwarded = request.getHeader("X-Forwarded-For");
+                ReadYourWrites.bind(forwarded != null && !forwarded.isBlank()
+                        ? forwarded.split(",")[0].trim() : request.getRemoteAddr());
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    ReadYourWrites.unbind();
+                }
+            }
+        };
+        return new FilterRegistrationBean<>(filter);
+    }
+}
@@ -1,23 +1,46 @@
 package in.urbanecart.products.controllers;
 
 import in.urbanecart.products.DTO.BulkProductResponse;
+import in.urbanecart.products.DTO.ProductBatchResponse;
+import in.urbanecart.products.DTO.ProductCursorPage;
 import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.DTO.ProductFilterResponse;
+import in.urbanecart.products.DTO.ProductSummaryDto;
+import in.urbanecart.products.facet.FacetQuery;
+import in.urbanecart.products.service.ProductIngestService;
 import in.urbanecart.products.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
 
 
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
     private final ProductService productService;
+    private final ProductIngestService productIngestService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductIngestService productIngestService) {
         this.productService = productService;
+        this.productIngestService = productIngestService;
     }
 
     @PostMapping("/add")
@@ -31,17 +54,124 @@ public class ProductController {
         return ResponseEntity.ok(productService.createProducts(productDtos));
     }
 
+    // One product per line in, one result per line out; the feed is never held in memory
+    @PostMapping(value = "/bulk/stream", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    public void importProducts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        productIngestService.ingest(request.getInputStream(), response.getOutputStream());
+    }
+
+    // Validators come from the cached product's updatedAt, so a revalidated hit never touches the database
     @GetMapping("/info")
-    public ResponseEntity<ProductDto> getProductById(@RequestParam Long id){
-        return ResponseEntity.ok(productService.getProductById(id));
+    public ResponseEntity<ProductDto> getProductById(@RequestParam Long id, WebRequest request) {
+        ProductDto product = productService.getProductById(id);
+        LocalDateTime lastModified = product.getMeta().getUpdatedAt();
+        if (request.checkNotModified(etag(variant(request), lastModified), epochMillis(lastModified))) {
+            return null;
+        }
+        return ResponseEntity.ok(product);
     }
 
+    // ?fields=title,price,thumbnail returns only those columns (plus id) and skips tags and images
     @GetMapping
-    public ResponseEntity<Page<ProductDto>> getProducts(
+    public ResponseEntity<Page<?>> getProducts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) List<String> fields,
+            WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        if (fields != null && !fields.isEmpty()) {
+            return ResponseEntity.ok(productService.getProductFields(fields, page, size));
+        }
         Page<ProductDto> result = productService.getPaginatedProducts(page, size);
         return ResponseEntity.ok(result);
     }
 
+    // Many products in one call for cart and order pricing, e.g. ?ids=1,2,3; unknown ids come back in "missing"
+    @GetMapping("/batch")
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ProductBatchResponse> getProductsByIdsInBody(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<Page<ProductSummaryDto>> getProductSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(productService.getProductSummaries(page, size));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<ProductCursorPage> getProductsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (notModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(productService.getProductsAfter(cursor, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductDto>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(productService.searchProducts(q, limit));
+    }
+
+    // Repeat a parameter to select several values, e.g. ?category=laptops&category=tablets&price=100-250
+    @GetMapping("/filter")
+    public ResponseEntity<ProductFilterResponse> filterProducts(
+            @RequestParam(required = false) Set<String> category,
+            @RequestParam(required = false) Set<String> brand,
+            @RequestParam(required = false) Set<String> price,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Set<String> availabilityStatus,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        FacetQuery query = new FacetQuery(category, brand, price, minRating, availabilityStatus);
+        return ResponseEntity.ok(productService.filterProducts(query, page, size));
+    }
+
+    // Inserts and updates stamp updatedAt with this service's clock, so the newest updatedAt moves with any
+    // change and list validators follow the whole catalog. Only a
+    // conditional request reads it; others are tagged with the last value this instance read, which is never
+    // newer than the page they get, so a stale tag can cost a 200 but never earn a wrong 304
+    private boolean notModified(WebRequest request) {
+        boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+        LocalDateTime lastModified = conditional
+                ? productService.getCatalogLastModified()
+                : productService.getKnownCatalogLastModified();
+        return request.checkNotModified(etag(variant(request), lastModified), epochMillis(lastModified));
+    }
+
+    // Page, size, cursor, fields and Accept each select a different body, so each combination gets its own tag
+    private static String variant(WebRequest request) {
+        StringBuilder variant = new StringBuilder(request.getDescription(false));
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) ->
+                variant.append('&').append(name).append('=').append(String.join(",", values)));
+        variant.append('|').append(request.getHeader(HttpHeaders.ACCEPT));
+        return DigestUtils.md5DigestAsHex(variant.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 16) + "-";
+    }
+
+    private static String etag(String prefix, LocalDateTime lastModified) {
+        long micros = lastModified == null ? 0
+                : ChronoUnit.MICROS.between(Instant.EPOCH, lastModified.atZone(ZONE).toInstant());
+        return "\"" + prefix + Long.toHexString(micros) + "\"";
+    }
+
+    private static long epochMillis(LocalDateTime lastModified) {
+        return lastModified == null ? -1 : lastModified.atZone(ZONE).toInstant().toEpochMilli();
+    }
 }
@@ -0,0 +1,33 @@
+package in.urbanecart.products.controllers;
+
+import in.urbanecart.products.DTO.ReviewCursorPage;
+import in.urbanecart.products.DTO.ReviewDto;
+import in.urbanecart.products.service.ReviewService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/products/{id}/reviews")
+public class ReviewController {
+
+    private final ReviewService reviewService;
+
+    public ReviewController(ReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+    // Newest first; pass the previous page's nextCursor to continue
+    @GetMapping
+    public ResponseEntity<ReviewCursorPage> getReviews(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(reviewService.getReviews(id, cursor, size));
+    }
+
+    @PostMapping
+    public ResponseEntity<ReviewDto> addReview(@PathVariable Long id, @RequestBody ReviewDto reviewDto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(reviewService.addReview(id, reviewDto));
+    }
+}
@@ -0,0 +1,33 @@
+package in.urbanecart.products.controllers;
+
+import in.urbanecart.products.DTO.StockShardsDto;
+import in.urbanecart.products.service.HotStockService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/products/{id}/stock")
+public class StockController {
+
+    private final HotStockService hotStockService;
+
+    public StockController(HotStockService hotStockService) {
+        this.hotStockService = hotStockService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StockShardsDto> getStock(@PathVariable Long id) {
+        return ResponseEntity.ok(hotStockService.getShards(id));
+    }
+
+    // Flags a product as hot ahead of a flash sale, e.g. ?count=16; calling it again re-splits the stock
+    @PutMapping("/shards")
+    public ResponseEntity<StockShardsDto> enableShards(@PathVariable Long id, @RequestParam int count) {
+        return ResponseEntity.ok(hotStockService.enableShards(id, count));
+    }
+
+    @DeleteMapping("/shards")
+    public ResponseEntity<StockShardsDto> disableShards(@PathVariable Long id) {
+        return ResponseEntity.ok(hotStockService.disableShards(id));
+    }
+}
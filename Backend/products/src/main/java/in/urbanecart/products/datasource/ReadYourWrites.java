@@ -0,0 +1,46 @@
+package in.urbanecart.products.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which clients wrote within the last window, which is at least the replica lag tolerance,
+ * so their reads go to the primary until any replica in use is guaranteed to have their change.
+ * The client is bound to the thread per request; work on other threads, such as scheduled jobs, has none
+ * and is routed on the lag tolerance alone.
+ */
+public class ReadYourWrites {
+
+    private static final ThreadLocal<String> CLIENT = new ThreadLocal<>();
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window, long maxClients) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    public static void bind(String client) {
+        CLIENT.set(client);
+    }
+
+    public static void unbind() {
+        CLIENT.remove();
+    }
+
+    void recordWrite() {
+        String client = CLIENT.get();
+        if (client != null) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    boolean wroteRecently() {
+        String client = CLIENT.get();
+        return client != null && recentWriters.getIfPresent(client) != null;
+    }
+}
@@ -0,0 +1,78 @@
+package in.urbanecart.products.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls the replica for how far it trails the primary. Until a check has succeeded, and whenever the
+ * replica is unreachable or further behind than the tolerance, reads are kept on the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Seconds of replay lag on a Postgres standby; a streaming standby that has replayed everything it
+     * received counts as current even when the primary has been idle, and a server that is not a standby is
+     * never behind. A standby whose WAL receiver is not streaming may be missing WAL it was never sent, so
+     * its lag is unknown (NULL).
+     */
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean withinTolerance;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        Gauge.builder("products.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Seconds the read replica trails the primary, NaN while unreachable")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${products.datasource.replica.lag-check-interval:1s}")
+    public void check() {
+        Number lag;
+        try {
+            lag = replica.queryForObject(lagQuery, Number.class);
+        } catch (DataAccessException e) {
+            if (withinTolerance) {
+                log.warn("Read replica unreachable, reading from the primary", e);
+            }
+            lagSeconds = Double.NaN;
+            withinTolerance = false;
+            return;
+        }
+
+        lagSeconds = lag == null ? Double.NaN : lag.doubleValue();
+        boolean usable = lag != null && lagSeconds * 1000 <= maxLag.toMillis();
+        if (usable != withinTolerance) {
+            if (lag == null) {
+                log.info("Read replica lag unknown, reading from the primary");
+            } else {
+                log.info(usable ? "Read replica within tolerance, lag {}s" : "Read replica behind by {}s, reading from the primary",
+                        lagSeconds);
+            }
+        }
+        withinTolerance = usable;
+    }
+
+    public boolean isWithinTolerance() {
+        return withinTolerance;
+    }
+}
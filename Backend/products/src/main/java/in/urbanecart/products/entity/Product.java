@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,10 +16,15 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_product_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_product_updated_at", columnList = "updated_at")
+})
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -34,7 +40,12 @@ public class Product {
     private BigDecimal price;
     private BigDecimal discountPercentage;
     private BigDecimal rating;
+    // Running totals behind rating; each new review moves them by one instead of re-reading every review
+    private Integer reviewCount;
+    private Long ratingTotal;
     private Integer stock;
+    // Hot-SKU mode: stock lives in this many stock_shard rows and stock above is only their last known total
+    private Integer stockShards;
 
     private Integer weight;
 
@@ -54,6 +65,8 @@ public class Product {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // updatedAt as an imported feed reported it; updatedAt itself always follows this service's writes
+    private LocalDateTime sourceUpdatedAt;
 
     private String thumbnail;
 
@@ -73,4 +86,31 @@ public class Product {
     )
     private List<Tag> tags;
 
+    @PrePersist
+    protected void onCreate() {
+        // keyset pagination compares on (createdAt, id), so it must never be null
+        if (this.createdAt == null) this.createdAt = LocalDateTime.now();
+        // list validators follow the newest updatedAt, so an insert must move it even when back-dated
+        this.updatedAt = LocalDateTime.now();
+        // reviews that arrive with the product seed the aggregates; without any, the imported rating stands
+        if (this.reviewCount == null) {
+            this.reviewCount = 0;
+            this.ratingTotal = 0L;
+            if (this.reviews != null) this.reviews.forEach(review -> addRating(review.getRating()));
+        }
+    }
+
+    public void addRating(int stars) {
+        this.reviewCount = (this.reviewCount == null ? 0 : this.reviewCount) + 1;
+        this.ratingTotal = (this.ratingTotal == null ? 0 : this.ratingTotal) + stars;
+        this.rating = BigDecimal.valueOf(this.ratingTotal)
+                .divide(BigDecimal.valueOf(this.reviewCount), 2, RoundingMode.HALF_UP);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        // ETags and Last-Modified are derived from updatedAt
+        this.updatedAt = LocalDateTime.now();
+    }
+
 }
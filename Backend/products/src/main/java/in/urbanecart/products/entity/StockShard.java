@@ -0,0 +1,32 @@
+package in.urbanecart.products.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One slice of a hot product's stock. Checkouts decrement a single shard, so concurrent orders
+ * for the same product lock different rows instead of queueing on the product row.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(StockShardId.class)
+@Table(name = "stock_shard")
+public class StockShard {
+
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Id
+    @Column(name = "shard_no", nullable = false)
+    private int shardNo;
+
+    @Column(nullable = false)
+    private int stock;
+}
@@ -0,0 +1,15 @@
+package in.urbanecart.products.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockShardId implements Serializable {
+    private Long productId;
+    private int shardNo;
+}
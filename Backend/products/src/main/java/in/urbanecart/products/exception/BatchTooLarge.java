@@ -0,0 +1,12 @@
+package in.urbanecart.products.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BatchTooLarge extends RuntimeException {
+
+    public BatchTooLarge(String message) {
+        super(message);
+    }
+}
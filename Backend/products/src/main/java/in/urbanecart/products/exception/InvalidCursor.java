@@ -0,0 +1,12 @@
+package in.urbanecart.products.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursor extends RuntimeException {
+
+    public InvalidCursor(String message) {
+        super(message);
+    }
+}
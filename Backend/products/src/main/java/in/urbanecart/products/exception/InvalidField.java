@@ -0,0 +1,12 @@
+package in.urbanecart.products.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidField extends RuntimeException {
+
+    public InvalidField(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package in.urbanecart.products.facet;
+
+import java.math.BigDecimal;
+
+/**
+ * The filterable attributes of one product.
+ */
+public record FacetDocument(Long productId, String category, String brand, BigDecimal price,
+                            BigDecimal rating, String availabilityStatus) {
+}
@@ -0,0 +1,11 @@
+package in.urbanecart.products.facet;
+
+import java.util.Set;
+
+/**
+ * Selected facet values. Values of one facet are OR-ed, facets are AND-ed; an empty set
+ * means the facet is not filtered.
+ */
+public record FacetQuery(Set<String> categories, Set<String> brands, Set<String> priceRanges,
+                         Integer minRating, Set<String> availabilityStatuses) {
+}
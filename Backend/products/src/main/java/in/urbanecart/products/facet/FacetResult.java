@@ -0,0 +1,10 @@
+package in.urbanecart.products.facet;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of matching product ids, newest first, with the total and the per-value counts of every facet.
+ */
+public record FacetResult(List<Long> productIds, long total, Map<String, Map<String, Long>> facets) {
+}
@@ -0,0 +1,206 @@
+package in.urbanecart.products.facet;
+
+import in.urbanecart.products.exception.InvalidFacet;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps one roaring bitmap of product ids per facet value, so filtering is a bitmap
+ * intersection and a facet count is an intersection cardinality, all in memory.
+ * <p>
+ * Counts follow the usual multi-select rule: the counts of a facet apply every selected
+ * filter except that facet's own, so the other values of a facet stay selectable.
+ */
+@Component
+public class ProductFacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String BRAND = "brand";
+    public static final String PRICE = "price";
+    public static final String RATING = "rating";
+    public static final String AVAILABILITY = "availabilityStatus";
+
+    private static final List<String> FACETS = List.of(CATEGORY, BRAND, PRICE, RATING, AVAILABILITY);
+
+    // upper bounds of the price buckets; the last bucket is open-ended
+    private static final int[] PRICE_BOUNDS = {10, 25, 50, 100, 250, 500, 1000};
+    // every price bucket label, cheapest first
+    private static final List<String> PRICE_BUCKETS = priceBuckets();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<String, RoaringBitmap>> facets = new HashMap<>();
+    private final Map<Integer, Map<String, String>> valuesByDoc = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+
+    public ProductFacetIndex() {
+        FACETS.forEach(facet -> facets.put(facet, new TreeMap<>()));
+        facets.put(PRICE, new HashMap<>());
+    }
+
+    public void index(FacetDocument document) {
+        int doc = toDoc(document.productId());
+        Map<String, String> values = new HashMap<>();
+        putIfPresent(values, CATEGORY, document.category());
+        putIfPresent(values, BRAND, document.brand());
+        putIfPresent(values, PRICE, priceBucket(document.price()));
+        putIfPresent(values, RATING, ratingBucket(document.rating()));
+        putIfPresent(values, AVAILABILITY, document.availabilityStatus());
+
+        lock.writeLock().lock();
+        try {
+            removeDoc(doc);
+            values.forEach((facet, value) ->
+                    facets.get(facet).computeIfAbsent(value, v -> new RoaringBitmap()).add(doc));
+            valuesByDoc.put(doc, values);
+            all.add(doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(toDoc(productId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public FacetResult filter(FacetQuery query, int page, int size) {
+        validate(query);
+
+        lock.readLock().lock();
+        try {
+            // 1. One bitmap per filtered facet
+            Map<String, RoaringBitmap> selected = new LinkedHashMap<>();
+            select(selected, CATEGORY, query.categories());
+            select(selected, BRAND, query.brands());
+            select(selected, PRICE, query.priceRanges());
+            select(selected, AVAILABILITY, query.availabilityStatuses());
+            if (query.minRating() != null) {
+                Set<String> ratings = new HashSet<>();
+                for (int r = query.minRating(); r <= 5; r++) ratings.add(String.valueOf(r));
+                select(selected, RATING, ratings);
+            }
+
+            RoaringBitmap matches = intersect(selected, null);
+
+            // 2. Counts per value, applying every filter but the facet's own
+            Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+            for (String facet : FACETS) {
+                RoaringBitmap base = selected.containsKey(facet) ? intersect(selected, facet) : matches;
+                Map<String, RoaringBitmap> byValue = facets.get(facet);
+                Map<String, Long> valueCounts = new LinkedHashMap<>();
+                for (String value : facet.equals(PRICE) ? PRICE_BUCKETS : byValue.keySet()) {
+                    RoaringBitmap docs = byValue.get(value);
+                    long count = docs == null ? 0 : RoaringBitmap.andCardinality(base, docs);
+                    if (count > 0) valueCounts.put(value, count);
+                }
+                counts.put(facet, valueCounts);
+            }
+
+            // 3. Page through the matches, highest id (newest) first
+            List<Long> ids = new ArrayList<>(size);
+            IntIterator it = matches.getReverseIntIterator();
+            long skip = (long) page * size;
+            while (it.hasNext() && ids.size() < size) {
+                int doc = it.next();
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    ids.add((long) doc);
+                }
+            }
+
+            return new FacetResult(ids, matches.getLongCardinality(), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static String priceBucket(BigDecimal price) {
+        if (price == null) return null;
+        int lower = 0;
+        for (int upper : PRICE_BOUNDS) {
+            if (price.compareTo(BigDecimal.valueOf(upper)) < 0) {
+                return lower + "-" + upper;
+            }
+            lower = upper;
+        }
+        return lower + "+";
+    }
+
+    public static String ratingBucket(BigDecimal rating) {
+        if (rating == null) return null;
+        return String.valueOf(Math.min(5, Math.max(0, rating.intValue())));
+    }
+
+    // An unknown price range or a rating outside 0..5 can never match, so it is rejected rather than ignored
+    private static void validate(FacetQuery query) {
+        if (query.priceRanges() != null) {
+            for (String range : query.priceRanges()) {
+                if (!PRICE_BUCKETS.contains(range)) {
+                    throw new InvalidFacet("Unknown price range: " + range + ", expected one of " + PRICE_BUCKETS);
+                }
+            }
+        }
+        if (query.minRating() != null && (query.minRating() < 0 || query.minRating() > 5)) {
+            throw new InvalidFacet("minRating must be between 0 and 5, got " + query.minRating());
+        }
+    }
+
+    private static List<String> priceBuckets() {
+        List<String> buckets = new ArrayList<>();
+        buckets.add(priceBucket(BigDecimal.ZERO));
+        for (int bound : PRICE_BOUNDS) {
+            buckets.add(priceBucket(BigDecimal.valueOf(bound)));
+        }
+        return List.copyOf(buckets);
+    }
+
+    private void select(Map<String, RoaringBitmap> selected, String facet, Set<String> values) {
+        if (values == null || values.isEmpty()) return;
+
+        Map<String, RoaringBitmap> byValue = facets.get(facet);
+        RoaringBitmap union = new RoaringBitmap();
+        for (String value : values) {
+            RoaringBitmap docs = byValue.get(value);
+            if (docs != null) union.or(docs);
+        }
+        selected.put(facet, union);
+    }
+
+    private RoaringBitmap intersect(Map<String, RoaringBitmap> selected, String except) {
+        RoaringBitmap result = all.clone();
+        selected.forEach((facet, docs) -> {
+            if (!facet.equals(except)) result.and(docs);
+        });
+        return result;
+    }
+
+    private void removeDoc(int doc) {
+        Map<String, String> previous = valuesByDoc.remove(doc);
+        if (previous == null) return;
+
+        previous.forEach((facet, value) -> {
+            RoaringBitmap docs = facets.get(facet).get(value);
+            docs.remove(doc);
+            if (docs.isEmpty()) facets.get(facet).remove(value);
+        });
+        all.remove(doc);
+    }
+
+    private static void putIfPresent(Map<String, String> values, String facet, String value) {
+        if (value != null && !value.isBlank()) values.put(facet, value.trim());
+    }
+
+    private static int toDoc(Long productId) {
+        return Math.toIntExact(productId);
+    }
+}
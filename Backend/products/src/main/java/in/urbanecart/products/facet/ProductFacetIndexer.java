@@ -0,0 +1,73 @@
+package in.urbanecart.products.facet;
+
+import in.urbanecart.products.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Fills {@link ProductFacetIndex} from the database once the application is up, and refreshes
+ * the products that {@link in.urbanecart.products.cache.ProductDetailCacheSync} finds changed.
+ */
+@Slf4j
+@Component
+public class ProductFacetIndexer {
+
+    private final ProductRepository productRepository;
+    private final ProductFacetIndex productFacetIndex;
+    private final int pageSize;
+
+    public ProductFacetIndexer(ProductRepository productRepository, ProductFacetIndex productFacetIndex,
+                               @Value("${products.search.load-page-size:5000}") int pageSize) {
+        this.productRepository = productRepository;
+        this.productFacetIndex = productFacetIndex;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        long count = 0;
+        List<Object[]> rows;
+        do {
+            rows = productRepository.findFacetFieldsAfter(afterId, PageRequest.of(0, pageSize));
+            index(rows);
+            if (!rows.isEmpty()) {
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+            count += rows.size();
+        } while (rows.size() == pageSize);
+
+        log.info("Indexed {} products for facets in {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    // Ids that no longer exist were deleted and leave the index
+    public void reindex(Collection<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        for (int from = 0; from < all.size(); from += pageSize) {
+            List<Long> chunk = all.subList(from, Math.min(from + pageSize, all.size()));
+            Set<Long> missing = new HashSet<>(chunk);
+            for (Long id : index(productRepository.findFacetFieldsByIdIn(chunk))) {
+                missing.remove(id);
+            }
+            missing.forEach(productFacetIndex::remove);
+        }
+    }
+
+    private List<Long> index(List<Object[]> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            productFacetIndex.index(new FacetDocument((Long) row[0], (String) row[1], (String) row[2],
+                    (BigDecimal) row[3], (BigDecimal) row[4], (String) row[5]));
+            ids.add((Long) row[0]);
+        }
+        return ids;
+    }
+}
@@ -4,6 +4,7 @@ import in.urbanecart.products.DTO.DimensionsDTO;
 import in.urbanecart.products.DTO.MetaDTO;
 import in.urbanecart.products.DTO.ProductDto;
 import in.urbanecart.products.DTO.ReviewDto;
+import in.urbanecart.products.entity.Review;
 import in.urbanecart.products.entity.Product;
 import in.urbanecart.products.entity.ProductImage;
 import in.urbanecart.products.entity.Tag;
@@ -23,6 +24,7 @@ public class ProductMapper {
                 .price(product.getPrice())
                 .discountPercentage(product.getDiscountPercentage())
                 .rating(product.getRating())
+                .reviewCount(product.getReviewCount())
                 .stock(product.getStock())
                 .brand(product.getBrand())
                 .sku(product.getSku())
@@ -55,16 +57,17 @@ public class ProductMapper {
                         product.getImages().stream().map(ProductImage::getUrl).toList() :
                         List.of())
 
-                .reviews(product.getReviews() != null ?
-                        product.getReviews().stream().map(r -> ReviewDto.builder()
-                                .rating(r.getRating())
-                                .comment(r.getComment())
-                                .date(r.getDate())
-                                .reviewerName(r.getReviewerName())
-                                .reviewerEmail(r.getReviewerEmail())
-                                .build()).toList() :
-                        List.of())
+                .build();
+    }
 
+    public static ReviewDto toDto(Review review) {
+        return ReviewDto.builder()
+                .id(review.getId())
+                .rating(review.getRating())
+                .comment(review.getComment())
+                .date(review.getDate())
+                .reviewerName(review.getReviewerName())
+                .reviewerEmail(review.getReviewerEmail())
                 .build();
     }
 
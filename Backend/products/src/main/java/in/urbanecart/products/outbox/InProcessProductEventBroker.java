@@ -0,0 +1,40 @@
+package in.urbanecart.products.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broker living inside this service: subscribers are called on the relay thread, in outbox order.
+ * A failing subscriber is logged and skipped so it cannot hold back the others. Events reach only the
+ * instance whose relay took them; other instances learn of changes through
+ * {@link in.urbanecart.products.cache.ProductDetailCacheSync}.
+ */
+@Slf4j
+@Component
+public class InProcessProductEventBroker implements ProductEventBroker {
+
+    private final List<Consumer<ProductEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<ProductEvent> events) {
+        for (ProductEvent event : events) {
+            for (Consumer<ProductEvent> subscriber : subscribers) {
+                try {
+                    subscriber.accept(event);
+                } catch (RuntimeException e) {
+                    log.warn("Subscriber failed on product event {} ({})", event.id(), event.type(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Runnable subscribe(Consumer<ProductEvent> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+}
@@ -0,0 +1,71 @@
+package in.urbanecart.products.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves outbox rows to the {@link ProductEventBroker} in batches, oldest first. Each batch is read
+ * with {@code FOR UPDATE}, published and deleted in one transaction, so instances relaying side by
+ * side take turns instead of sending the same rows; a failed publish leaves the rows for the next run.
+ * Delivery is at least once.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String SELECT_SQL = "SELECT id, product_id, type, payload, created_at FROM product_outbox " +
+            "ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String DELETE_SQL = "DELETE FROM product_outbox WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductEventBroker broker;
+    private final int batchSize;
+    private final Counter published;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       ProductEventBroker broker, MeterRegistry meterRegistry,
+                       @Value("${products.outbox.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.broker = broker;
+        this.batchSize = batchSize;
+        this.published = meterRegistry.counter("products.outbox.published");
+    }
+
+    @Scheduled(fixedDelayString = "${products.outbox.relay-interval:500ms}")
+    public void relay() {
+        try {
+            while (relayBatch() == batchSize) {
+                // a full batch means more are waiting
+            }
+        } catch (RuntimeException e) {
+            log.warn("Product event relay failed, retrying on the next run", e);
+        }
+    }
+
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<ProductEvent> events = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new ProductEvent(
+                    rs.getLong("id"), rs.getLong("product_id"), rs.getString("type"), rs.getString("payload"),
+                    rs.getTimestamp("created_at").toLocalDateTime()), batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            broker.publish(events);
+            jdbcTemplate.batchUpdate(DELETE_SQL, events, batchSize, (ps, event) -> ps.setLong(1, event.id()));
+            return events.size();
+        });
+        published.increment(relayed);
+        return relayed;
+    }
+}
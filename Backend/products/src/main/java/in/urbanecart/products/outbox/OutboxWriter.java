@@ -0,0 +1,80 @@
+package in.urbanecart.products.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.urbanecart.products.entity.Product;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Appends product events to the outbox inside the caller's transaction, so an event exists
+ * exactly when the change it describes was committed.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO product_outbox (id, product_id, type, payload, created_at) " +
+            "VALUES (nextval('product_outbox_seq'), ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void productsCreated(Collection<Product> products) {
+        Map<Long, Map<String, Object>> data = new LinkedHashMap<>();
+        for (Product product : products) {
+            data.put(product.getId(), state(product));
+        }
+        append(ProductEventType.PRODUCT_CREATED, data);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void stockChanged(Product product) {
+        append(ProductEventType.STOCK_CHANGED, Map.of(product.getId(), state(product)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewAdded(Product product) {
+        append(ProductEventType.REVIEW_ADDED, Map.of(product.getId(), state(product)));
+    }
+
+    private void append(ProductEventType type, Map<Long, Map<String, Object>> dataByProduct) {
+        if (dataByProduct.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(dataByProduct.size());
+        dataByProduct.forEach((productId, data) -> rows.add(new Object[]{productId, type.name(), json(data), now}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    // What consumers usually need to update in place without fetching the product again
+    private static Map<String, Object> state(Product product) {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("price", product.getPrice());
+        state.put("discountPercentage", product.getDiscountPercentage());
+        state.put("stock", product.getStock());
+        state.put("availabilityStatus", product.getAvailabilityStatus());
+        state.put("rating", product.getRating());
+        state.put("reviewCount", product.getReviewCount());
+        return state;
+    }
+
+    private String json(Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize product event", e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package in.urbanecart.products.outbox;
+
+import java.time.LocalDateTime;
+
+// type is kept as text so events written by other services with newer types still relay
+public record ProductEvent(long id, Long productId, String type, String payload, LocalDateTime createdAt) {
+}
@@ -0,0 +1,19 @@
+package in.urbanecart.products.outbox;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Where relayed product events go. {@link #publish} must not return before the broker has taken
+ * the batch: the relay deletes the outbox rows right after, so an exception is the only way to
+ * have the batch sent again.
+ */
+public interface ProductEventBroker {
+
+    void publish(List<ProductEvent> events);
+
+    /**
+     * @return removes the subscriber again
+     */
+    Runnable subscribe(Consumer<ProductEvent> subscriber);
+}
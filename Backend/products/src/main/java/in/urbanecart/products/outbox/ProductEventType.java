@@ -0,0 +1,11 @@
+package in.urbanecart.products.outbox;
+
+public enum ProductEventType {
+    PRODUCT_CREATED,
+    // stock total of a product changed here, e.g. when hot-SKU shards are created, folded or rebalanced
+    STOCK_CHANGED,
+    // a review was added; carries the product's new rating and review count
+    REVIEW_ADDED,
+    // order-service took stock for an order; written by its reservation transaction
+    STOCK_RESERVED
+}
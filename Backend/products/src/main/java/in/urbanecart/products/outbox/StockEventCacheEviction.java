@@ -0,0 +1,22 @@
+package in.urbanecart.products.outbox;
+
+import in.urbanecart.products.cache.ProductDetailCache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stock taken by order-service never passes through this service's write path, so cached
+ * product details learn about it from the relayed events instead. Only the relaying instance
+ * evicts here, right away; the others catch up through
+ * {@link in.urbanecart.products.cache.ProductDetailCacheSync}.
+ */
+@Component
+public class StockEventCacheEviction {
+
+    public StockEventCacheEviction(ProductEventBroker broker, ProductDetailCache productDetailCache) {
+        broker.subscribe(event -> {
+            if (ProductEventType.STOCK_RESERVED.name().equals(event.type())) {
+                productDetailCache.evict(event.productId());
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package in.urbanecart.products.repository;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductFieldsRepository {
+
+    /**
+     * Reads only the requested columns of a page of products, newest first.
+     * Each row maps field name to value in the requested order.
+     */
+    List<Map<String, Object>> findFields(List<String> fields, Pageable pageable);
+}
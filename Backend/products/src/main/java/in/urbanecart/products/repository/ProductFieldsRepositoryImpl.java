@@ -0,0 +1,57 @@
+package in.urbanecart.products.repository;
+
+import in.urbanecart.products.exception.InvalidField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+
+public class ProductFieldsRepositoryImpl implements ProductFieldsRepository {
+
+    // field name in the API -> JPQL path; only these can be selected
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        for (String field : List.of("id", "title", "description", "brand", "sku", "price", "discountPercentage",
+                "rating", "reviewCount", "stock", "weight", "warrantyInformation", "shippingInformation", "availabilityStatus",
+                "returnPolicy", "minimumOrderQuantity", "thumbnail", "createdAt", "updatedAt")) {
+            COLUMNS.put(field, "p." + field);
+        }
+        COLUMNS.put("category", "c.name");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(List<String> fields, Pageable pageable) {
+        StringJoiner select = new StringJoiner(", ");
+        for (String field : fields) {
+            String column = COLUMNS.get(field);
+            if (column == null) {
+                throw new InvalidField("Unknown or non-scalar field: " + field + ", allowed: " + COLUMNS.keySet());
+            }
+            select.add(column);
+        }
+
+        String jpql = "select " + select + " from Product p" +
+                (fields.contains("category") ? " left join p.category c" : "") +
+                " order by p.createdAt desc, p.id desc";
+
+        List<Object[]> rows = entityManager.createQuery(jpql, Object[].class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                values.put(fields.get(i), row[i]);
+            }
+            result.add(values);
+        }
+        return result;
+    }
+}
@@ -1,15 +1,89 @@
 package in.urbanecart.products.repository;
 
+import in.urbanecart.products.DTO.ProductSummaryDto;
 import in.urbanecart.products.entity.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductFieldsRepository {
 
     Page<Product> findAll(Pageable pageable);
+
+    // Page of products with category joined in the same select
+    @EntityGraph(attributePaths = "category")
+    @Query(value = "select p from Product p", countQuery = "select count(p) from Product p")
+    Page<Product> findPageWithCategory(Pageable pageable);
+
+    // Grid tiles: only the columns a summary needs, no children
+    @Query(value = "select new in.urbanecart.products.DTO.ProductSummaryDto(p.id, p.title, c.name, p.brand, " +
+            "p.price, p.discountPercentage, p.rating, p.availabilityStatus, p.thumbnail) " +
+            "from Product p left join p.category c",
+            countQuery = "select count(p) from Product p")
+    Page<ProductSummaryDto> findSummaries(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> lockById(@Param("id") Long id);
+
+    // Validator for list conditional GETs; one probe of idx_product_updated_at
+    @Query("select max(p.updatedAt) from Product p")
+    LocalDateTime findLastModified();
+
+    // Keyset pages, newest first; ties on createdAt are broken by id
+    @EntityGraph(attributePaths = "category")
+    @Query("select p from Product p order by p.createdAt desc, p.id desc")
+    List<Product> findFirstPage(Pageable limit);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("select p from Product p where (p.createdAt, p.id) < (:createdAt, :id) " +
+            "order by p.createdAt desc, p.id desc")
+    List<Product> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                Pageable limit);
+
+    // Text columns for the search index, walked by id so the whole catalog is never loaded at once
+    @Query("select p.id, p.title, p.description, p.brand, c.name from Product p left join p.category c " +
+            "where p.id > :afterId order by p.id")
+    List<Object[]> findSearchFieldsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query("select p.id, c.name, p.brand, p.price, p.rating, p.availabilityStatus " +
+            "from Product p left join p.category c where p.id > :afterId order by p.id")
+    List<Object[]> findFacetFieldsAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    // The same columns for products changed since the indexes were filled
+    @Query("select p.id, p.title, p.description, p.brand, c.name from Product p left join p.category c " +
+            "where p.id in :ids")
+    List<Object[]> findSearchFieldsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.id, c.name, p.brand, p.price, p.rating, p.availabilityStatus " +
+            "from Product p left join p.category c where p.id in :ids")
+    List<Object[]> findFacetFieldsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select p.id, t.name from Product p join p.tags t where p.id in :ids")
+    List<Object[]> findTagNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("select p from Product p where p.id in :ids")
+    List<Product> findAllWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    // One query per collection for a whole page; tags and images are bags,
+    // so they cannot be fetch-joined together in a single select
+    @Query("select distinct p from Product p left join fetch p.tags where p.id in :ids")
+    List<Product> fetchTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct p from Product p left join fetch p.images where p.id in :ids")
+    List<Product> fetchImagesByIdIn(@Param("ids") Collection<Long> ids);
 }
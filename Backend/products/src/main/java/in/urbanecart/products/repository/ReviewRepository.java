@@ -0,0 +1,25 @@
+package in.urbanecart.products.repository;
+
+import in.urbanecart.products.entity.Review;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    // Keyset pages of one product's reviews, newest first, served by idx_review_product_id_id
+    @Query("select r from Review r where r.product.id = :productId order by r.id desc")
+    List<Review> findFirstPage(@Param("productId") Long productId, Pageable limit);
+
+    @Query("select r from Review r where r.product.id = :productId and r.id < :id order by r.id desc")
+    List<Review> findPageAfter(@Param("productId") Long productId, @Param("id") Long id, Pageable limit);
+
+    // Only for products stored before rating aggregates existed: count and rating total in one row
+    @Query("select count(r), coalesce(sum(r.rating), 0) from Review r where r.product.id = :productId")
+    List<Object[]> sumRatingsByProductId(@Param("productId") Long productId);
+}
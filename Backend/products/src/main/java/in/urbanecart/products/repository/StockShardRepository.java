@@ -0,0 +1,26 @@
+package in.urbanecart.products.repository;
+
+import in.urbanecart.products.entity.StockShard;
+import in.urbanecart.products.entity.StockShardId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockShardRepository extends JpaRepository<StockShard, StockShardId> {
+
+    // Locked in shard order, the same order checkouts spanning several shards use
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from StockShard s where s.productId = :productId order by s.shardNo")
+    List<StockShard> lockByProductId(@Param("productId") Long productId);
+
+    List<StockShard> findByProductIdOrderByShardNo(Long productId);
+
+    @Query("select distinct s.productId from StockShard s")
+    List<Long> findShardedProductIds();
+}
@@ -0,0 +1,279 @@
+package in.urbanecart.products.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product text, ranked with BM25.
+ * <p>
+ * Every posting is a single int: the internal doc number in the high 24 bits and the weighted
+ * term frequency (capped at 255) in the low 8, which keeps a million-product catalog to a few
+ * hundred MB. Re-indexing a product marks its old doc deleted and appends a new one, unless its
+ * text is unchanged: stock and rating refreshes re-index often, and deleted docs are never reclaimed.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // field boosts, applied as repeated term occurrences
+    private static final int TITLE_WEIGHT = 3;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int TAG_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int MAX_TF = 0xFF;
+    private static final int MAX_DOCS = 1 << 24;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docByProduct = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private long[] productIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private long[] fingerprints = new long[1024];
+    private int docCount;
+    private int liveDocs;
+    private long totalLength;
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public void index(SearchDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, document.title(), TITLE_WEIGHT);
+        addTerms(frequencies, document.brand(), BRAND_WEIGHT);
+        addTerms(frequencies, document.category(), CATEGORY_WEIGHT);
+        addTerms(frequencies, document.description(), DESCRIPTION_WEIGHT);
+        if (document.tags() != null) {
+            document.tags().forEach(tag -> addTerms(frequencies, tag, TAG_WEIGHT));
+        }
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        long fingerprint = fingerprint(document);
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = docByProduct.get(document.productId());
+            if (previous != null && fingerprints[previous] == fingerprint) {
+                return;
+            }
+            if (docCount == MAX_DOCS) {
+                throw new IllegalStateException("Search index is full");
+            }
+            if (previous != null) {
+                markDeleted(previous);
+            }
+
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            productIds[doc] = document.productId();
+            docLengths[doc] = length;
+            fingerprints[doc] = fingerprint;
+            docByProduct.put(document.productId(), doc);
+            liveDocs++;
+            totalLength += length;
+
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int tf = Math.min(entry.getValue(), MAX_TF);
+                postings.computeIfAbsent(entry.getKey(), t -> new Postings()).add((doc << 8) | tf);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByProduct.remove(productId);
+            if (doc != null) {
+                markDeleted(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} product ids, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            Scratch s = scratch.get();
+            s.reset(docCount);
+            float avgLength = (float) totalLength / liveDocs;
+
+            // 1. Accumulate BM25 per doc, term by term
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) continue;
+
+                float idf = (float) Math.log(1 + (liveDocs - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int posting = list.entries[i];
+                    int doc = posting >>> 8;
+                    if (deleted.get(doc)) continue;
+
+                    int tf = posting & MAX_TF;
+                    float norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                    s.add(doc, idf * tf * (K1 + 1) / (tf + norm));
+                }
+            }
+
+            // 2. Keep the best `limit` docs in a min-heap
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1,
+                    Comparator.comparingDouble(doc -> s.scores[doc]));
+            for (int i = 0; i < s.touchedCount; i++) {
+                int doc = s.touched[i];
+                if (top.size() == limit && s.scores[doc] <= s.scores[top.peek()]) continue;
+
+                top.add(doc);
+                if (top.size() > limit) top.poll();
+            }
+
+            Long[] result = new Long[top.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                result[i] = productIds[top.poll()];
+            }
+            return Arrays.asList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int docCount() {
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letter = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                if (i - start > 1) tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    // 64-bit FNV-1a over every indexed field, each one terminated so text cannot shift between fields
+    private static long fingerprint(SearchDocument document) {
+        long hash = FNV_OFFSET;
+        hash = fingerprint(hash, document.title());
+        hash = fingerprint(hash, document.brand());
+        hash = fingerprint(hash, document.category());
+        hash = fingerprint(hash, document.description());
+        if (document.tags() != null) {
+            for (String tag : document.tags()) {
+                hash = fingerprint(hash, tag);
+            }
+        }
+        return hash;
+    }
+
+    private static long fingerprint(long hash, String text) {
+        if (text != null) {
+            for (int i = 0; i < text.length(); i++) {
+                hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return (hash ^ 0xFFFF) * FNV_PRIME;
+    }
+
+    private void markDeleted(int doc) {
+        if (!deleted.get(doc)) {
+            deleted.set(doc);
+            liveDocs--;
+            totalLength -= docLengths[doc];
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > productIds.length) {
+            int newSize = Math.max(size, productIds.length * 2);
+            productIds = Arrays.copyOf(productIds, newSize);
+            docLengths = Arrays.copyOf(docLengths, newSize);
+            fingerprints = Arrays.copyOf(fingerprints, newSize);
+        }
+    }
+
+    private static final class Postings {
+        int[] entries = new int[4];
+        int size;
+
+        void add(int posting) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = posting;
+        }
+    }
+
+    // Per-thread score accumulator, reused between queries so a search allocates almost nothing
+    private static final class Scratch {
+        float[] scores = new float[0];
+        int[] touched = new int[0];
+        int touchedCount;
+
+        void reset(int docs) {
+            if (scores.length < docs) {
+                scores = new float[docs];
+                touched = new int[docs];
+            } else {
+                for (int i = 0; i < touchedCount; i++) {
+                    scores[touched[i]] = 0;
+                }
+            }
+            touchedCount = 0;
+        }
+
+        void add(int doc, float score) {
+            if (scores[doc] == 0) {
+                touched[touchedCount++] = doc;
+            }
+            scores[doc] += score;
+        }
+    }
+}
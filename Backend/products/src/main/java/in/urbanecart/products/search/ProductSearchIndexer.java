@@ -0,0 +1,78 @@
+package in.urbanecart.products.search;
+
+import in.urbanecart.products.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Fills {@link ProductSearchIndex} from the database once the application is up.
+ * Products written afterwards are indexed by the service as they are created; products changed
+ * anywhere else are refreshed when {@link in.urbanecart.products.cache.ProductDetailCacheSync} finds them.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndexer {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final int pageSize;
+
+    public ProductSearchIndexer(ProductRepository productRepository, ProductSearchIndex productSearchIndex,
+                                @Value("${products.search.load-page-size:5000}") int pageSize) {
+        this.productRepository = productRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = productRepository.findSearchFieldsAfter(afterId, PageRequest.of(0, pageSize));
+            if (rows.isEmpty()) break;
+
+            List<Long> ids = index(rows);
+            afterId = ids.get(ids.size() - 1);
+        } while (rows.size() == pageSize);
+
+        log.info("Indexed {} products for search in {} ms", productSearchIndex.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    // Ids that no longer exist were deleted and leave the index
+    public void reindex(Collection<Long> ids) {
+        List<Long> all = List.copyOf(ids);
+        for (int from = 0; from < all.size(); from += pageSize) {
+            List<Long> chunk = all.subList(from, Math.min(from + pageSize, all.size()));
+            Set<Long> missing = new HashSet<>(chunk);
+            List<Object[]> rows = productRepository.findSearchFieldsByIdIn(chunk);
+            if (!rows.isEmpty()) {
+                index(rows).forEach(missing::remove);
+            }
+            missing.forEach(productSearchIndex::remove);
+        }
+    }
+
+    private List<Long> index(List<Object[]> rows) {
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, List<String>> tags = new HashMap<>();
+        for (Object[] row : productRepository.findTagNamesByIdIn(ids)) {
+            tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            productSearchIndex.index(new SearchDocument(id, (String) row[1], (String) row[2],
+                    (String) row[3], (String) row[4], tags.getOrDefault(id, List.of())));
+        }
+        return ids;
+    }
+}
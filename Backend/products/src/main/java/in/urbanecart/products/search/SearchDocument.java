@@ -0,0 +1,10 @@
+package in.urbanecart.products.search;
+
+import java.util.List;
+
+/**
+ * The searchable text of one product.
+ */
+public record SearchDocument(Long productId, String title, String description, String brand,
+                             String category, List<String> tags) {
+}
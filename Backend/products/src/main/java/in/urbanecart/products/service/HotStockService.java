@@ -0,0 +1,14 @@
+package in.urbanecart.products.service;
+
+import in.urbanecart.products.DTO.StockShardsDto;
+
+public interface HotStockService {
+
+    StockShardsDto enableShards(Long productId, int shards);
+
+    StockShardsDto disableShards(Long productId);
+
+    StockShardsDto getShards(Long productId);
+
+    void rebalance(Long productId);
+}
@@ -0,0 +1,14 @@
+package in.urbanecart.products.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface ProductIngestService {
+
+    /**
+     * Reads newline-delimited product JSON from {@code ndjson} and writes one result line per
+     * record to {@code results}, a chunk at a time.
+     */
+    void ingest(InputStream ndjson, OutputStream results) throws IOException;
+}
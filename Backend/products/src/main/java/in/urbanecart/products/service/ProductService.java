@@ -1,10 +1,17 @@
 package in.urbanecart.products.service;
 
 import in.urbanecart.products.DTO.BulkProductResponse;
+import in.urbanecart.products.DTO.ProductBatchResponse;
+import in.urbanecart.products.DTO.ProductCursorPage;
 import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.DTO.ProductFilterResponse;
+import in.urbanecart.products.DTO.ProductSummaryDto;
+import in.urbanecart.products.facet.FacetQuery;
 import org.springframework.data.domain.Page;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 
 public interface ProductService {
@@ -15,5 +22,21 @@ public interface ProductService {
 
     ProductDto getProductById(Long id);
 
+    ProductBatchResponse getProductsByIds(List<Long> ids);
+
+    LocalDateTime getCatalogLastModified();
+
+    LocalDateTime getKnownCatalogLastModified();
+
     public Page<ProductDto> getPaginatedProducts(int page, int size);
+
+    Page<ProductSummaryDto> getProductSummaries(int page, int size);
+
+    Page<Map<String, Object>> getProductFields(List<String> fields, int page, int size);
+
+    ProductCursorPage getProductsAfter(String cursor, int size);
+
+    List<ProductDto> searchProducts(String query, int limit);
+
+    ProductFilterResponse filterProducts(FacetQuery query, int page, int size);
 }
@@ -0,0 +1,11 @@
+package in.urbanecart.products.service;
+
+import in.urbanecart.products.DTO.ReviewCursorPage;
+import in.urbanecart.products.DTO.ReviewDto;
+
+public interface ReviewService {
+
+    ReviewDto addReview(Long productId, ReviewDto reviewDto);
+
+    ReviewCursorPage getReviews(Long productId, String cursor, int size);
+}
@@ -1,22 +1,27 @@
 package in.urbanecart.products.service.impl;
 
 import in.urbanecart.products.DTO.CategoryDTO;
+import in.urbanecart.products.cache.CategoryResolver;
 import in.urbanecart.products.entity.Category;
 import in.urbanecart.products.repository.CategoryRepository;
 import in.urbanecart.products.service.CategoryService;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "products.service")
 public class CategoryServiceImpl implements CategoryService {
 
 
     private final CategoryRepository categoryRepository;
+    private final CategoryResolver categoryResolver;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryResolver categoryResolver) {
         this.categoryRepository = categoryRepository;
+        this.categoryResolver = categoryResolver;
     }
 
     @Override
@@ -31,7 +36,9 @@ public class CategoryServiceImpl implements CategoryService {
                     newCategory.setImageUrl(requestCategory.getImageUrl());
                     return categoryRepository.save(newCategory);
                 });
-        return  categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryResolver.register(saved);
+        return saved;
     }
 
     @Override
@@ -63,6 +70,8 @@ public class CategoryServiceImpl implements CategoryService {
 
         // 4. Save new categories only
         List<Category> savedCategories = categoryRepository.saveAll(newCategories);
+        categoryResolver.registerAll(existingCategories);
+        categoryResolver.registerAll(savedCategories);
 
         // 5. Return combined list: existing + newly saved
         Map<String, List<Category>> result = new HashMap<>();
@@ -73,7 +82,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
 
-    private String generateSlug(String input) {
+    static String generateSlug(String input) {
         return input.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("-+$", "");
     }
 
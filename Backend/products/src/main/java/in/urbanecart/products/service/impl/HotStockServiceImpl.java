@@ -0,0 +1,158 @@
+package in.urbanecart.products.service.impl;
+
+import in.urbanecart.products.DTO.StockShardsDto;
+import in.urbanecart.products.cache.ProductDetailCache;
+import in.urbanecart.products.entity.Product;
+import in.urbanecart.products.entity.StockShard;
+import in.urbanecart.products.exception.InvalidShardCount;
+import in.urbanecart.products.exception.ProductNotFound;
+import in.urbanecart.products.outbox.OutboxWriter;
+import in.urbanecart.products.repository.ProductRepository;
+import in.urbanecart.products.repository.StockShardRepository;
+import in.urbanecart.products.service.HotStockService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hot-SKU inventory. While a product is sharded its stock is spread over {@code stock_shard} rows that
+ * checkouts decrement independently; the product row's stock is then only a display total, refreshed
+ * whenever shards are rebalanced.
+ * <p>
+ * Every method locks the product row before its shards, so they serialize with each other; checkouts
+ * never lock the row of a sharded product.
+ */
+@Service
+public class HotStockServiceImpl implements HotStockService {
+
+    private final ProductRepository productRepository;
+    private final StockShardRepository stockShardRepository;
+    private final ProductDetailCache productDetailCache;
+    private final OutboxWriter outboxWriter;
+    private final int maxShards;
+
+    public HotStockServiceImpl(ProductRepository productRepository, StockShardRepository stockShardRepository,
+                               ProductDetailCache productDetailCache, OutboxWriter outboxWriter,
+                               @Value("${products.stock.max-shards:64}") int maxShards) {
+        this.productRepository = productRepository;
+        this.stockShardRepository = stockShardRepository;
+        this.productDetailCache = productDetailCache;
+        this.outboxWriter = outboxWriter;
+        this.maxShards = maxShards;
+    }
+
+    // Splits the product's stock evenly over `shards` rows; an already sharded product is re-split
+    @Override
+    @Transactional
+    public StockShardsDto enableShards(Long productId, int shards) {
+        if (shards < 1 || shards > maxShards) {
+            throw new InvalidShardCount("Shard count must be between 1 and " + maxShards);
+        }
+        Product product = lock(productId);
+        List<StockShard> current = stockShardRepository.lockByProductId(productId);
+        int total = product.getStockShards() != null ? sum(current) : Objects.requireNonNullElse(product.getStock(), 0);
+
+        // shard numbers are always 0..n-1, so existing rows are reused and only the difference is added or dropped
+        List<StockShard> split = split(productId, total, shards);
+        for (int i = 0; i < Math.min(current.size(), shards); i++) {
+            current.get(i).setStock(split.get(i).getStock());
+        }
+        if (current.size() > shards) {
+            stockShardRepository.deleteAll(current.subList(shards, current.size()));
+        } else {
+            stockShardRepository.saveAll(split.subList(current.size(), shards));
+        }
+        product.setStockShards(shards);
+        setStock(product, total);
+        return toDto(productId, split);
+    }
+
+    // Folds the shards back into the product row
+    @Override
+    @Transactional
+    public StockShardsDto disableShards(Long productId) {
+        Product product = lock(productId);
+        if (product.getStockShards() == null) {
+            return new StockShardsDto(productId, Objects.requireNonNullElse(product.getStock(), 0), List.of());
+        }
+        List<StockShard> current = stockShardRepository.lockByProductId(productId);
+        stockShardRepository.deleteAllInBatch(current);
+        product.setStockShards(null);
+        setStock(product, sum(current));
+        return new StockShardsDto(productId, product.getStock(), List.of());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockShardsDto getShards(Long productId) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ProductNotFound("Product not found with id: " + productId));
+        if (product.getStockShards() == null) {
+            return new StockShardsDto(productId, Objects.requireNonNullElse(product.getStock(), 0), List.of());
+        }
+        return toDto(productId, stockShardRepository.findByProductIdOrderByShardNo(productId));
+    }
+
+    /**
+     * Evens out shards once one has fallen below half its fair share, so a checkout rarely finds its
+     * shard empty while others still hold stock, and publishes the current total on the product row.
+     */
+    @Override
+    @Transactional
+    public void rebalance(Long productId) {
+        Product product = lock(productId);
+        if (product.getStockShards() == null) {
+            return;
+        }
+        List<StockShard> shards = stockShardRepository.lockByProductId(productId);
+        if (shards.isEmpty()) {
+            return;
+        }
+        int total = sum(shards);
+        int fairShare = total / shards.size();
+        int min = shards.stream().mapToInt(StockShard::getStock).min().orElse(0);
+        if (min * 2 < fairShare) {
+            List<StockShard> even = split(productId, total, shards.size());
+            for (int i = 0; i < shards.size(); i++) {
+                shards.get(i).setStock(even.get(i).getStock());
+            }
+        }
+        setStock(product, total);
+    }
+
+    // Publishes the shard total on the product row; only an actual change is evicted and announced
+    private void setStock(Product product, int total) {
+        if (!Objects.equals(product.getStock(), total)) {
+            product.setStock(total);
+            productDetailCache.evict(product.getId());
+            outboxWriter.stockChanged(product);
+        }
+    }
+
+    private Product lock(Long productId) {
+        return productRepository.lockById(productId)
+                .orElseThrow(() -> new ProductNotFound("Product not found with id: " + productId));
+    }
+
+    private static List<StockShard> split(Long productId, int total, int shards) {
+        List<StockShard> split = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            // the first total % shards shards take one unit of the remainder each
+            int stock = total / shards + (i < total % shards ? 1 : 0);
+            split.add(new StockShard(productId, i, stock));
+        }
+        return split;
+    }
+
+    private static int sum(List<StockShard> shards) {
+        return shards.stream().mapToInt(StockShard::getStock).sum();
+    }
+
+    private static StockShardsDto toDto(Long productId, List<StockShard> shards) {
+        return new StockShardsDto(productId, sum(shards), shards.stream().map(StockShard::getStock).toList());
+    }
+}
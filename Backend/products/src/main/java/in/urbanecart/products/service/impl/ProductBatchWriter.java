@@ -0,0 +1,122 @@
+package in.urbanecart.products.service.impl;
+
+import in.urbanecart.products.DTO.BulkProductResponse;
+import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.cache.CategoryResolver;
+import in.urbanecart.products.cache.TagResolver;
+import in.urbanecart.products.entity.*;
+import in.urbanecart.products.outbox.OutboxWriter;
+import in.urbanecart.products.repository.ProductRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Saves one batch of a bulk import. Lives in its own bean so that the call from
+ * {@link ProductServiceImpl#createProducts} goes through the transactional proxy.
+ */
+@Component
+public class ProductBatchWriter {
+
+    private final ProductRepository productRepository;
+    private final CategoryResolver categoryResolver;
+    private final OutboxWriter outboxWriter;
+
+    public ProductBatchWriter(ProductRepository productRepository, CategoryResolver categoryResolver,
+                              OutboxWriter outboxWriter) {
+        this.productRepository = productRepository;
+        this.categoryResolver = categoryResolver;
+        this.outboxWriter = outboxWriter;
+    }
+
+    @Transactional
+    public BulkProductResponse saveBatch(List<ProductDto> dtos, Map<String, Tag> tagMap) {
+        List<Product> productsToSave = new ArrayList<>();
+        List<ProductDto> added = new ArrayList<>();
+        List<ProductDto> failed = new ArrayList<>();
+
+        for (ProductDto dto : dtos) {
+            try {
+                Optional<Category> categoryOpt = categoryResolver.resolve(dto.getCategory());
+                if (categoryOpt.isEmpty()) {
+                    failed.add(dto);
+                    continue;
+                }
+
+                productsToSave.add(buildProductFromDto(dto, tagMap, categoryOpt.get()));
+                added.add(dto);
+            } catch (Exception e) {
+                failed.add(dto);
+            }
+        }
+
+        List<Product> saved = productRepository.saveAll(productsToSave);
+        outboxWriter.productsCreated(saved);
+
+        // saveAll keeps order, so added[i] is the DTO of saved[i]
+        for (int i = 0; i < saved.size(); i++) {
+            added.get(i).setId(saved.get(i).getId());
+        }
+
+        return new BulkProductResponse(added, failed);
+    }
+
+    Product buildProductFromDto(ProductDto dto, Map<String, Tag> tagMap, Category category) {
+        List<Tag> tags = Stream.ofNullable(dto.getTags()).flatMap(List::stream)
+                .map(tagName -> tagMap.get(TagResolver.normalize(tagName)))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Product product = Product.builder()
+                .title(dto.getTitle())
+                .description(dto.getDescription())
+                .category(category)
+                .price(dto.getPrice())
+                .discountPercentage(dto.getDiscountPercentage())
+                .rating(dto.getRating())
+                .stock(dto.getStock())
+                .tags(tags)
+                .brand(dto.getBrand())
+                .sku(dto.getSku())
+                .weight(dto.getWeight())
+                .width(dto.getDimensions().getWidth())
+                .height(dto.getDimensions().getHeight())
+                .depth(dto.getDimensions().getDepth())
+                .warrantyInformation(dto.getWarrantyInformation())
+                .shippingInformation(dto.getShippingInformation())
+                .availabilityStatus(dto.getAvailabilityStatus())
+                .returnPolicy(dto.getReturnPolicy())
+                .minimumOrderQuantity(dto.getMinimumOrderQuantity())
+                .createdAt(dto.getMeta().getCreatedAt())
+                .sourceUpdatedAt(dto.getMeta().getUpdatedAt())
+                .barcode(dto.getMeta().getBarcode())
+                .qrCode(dto.getMeta().getQrCode())
+                .thumbnail(dto.getThumbnail())
+                .build();
+
+        List<ProductImage> images = dto.getImages().stream()
+                .map(imageUrl -> new ProductImage(null, imageUrl, product))
+                .collect(Collectors.toList());
+        product.setImages(images);
+
+        if (dto.getReviews() != null) {
+            List<Review> reviews = dto.getReviews().stream()
+                    .map(r -> Review.builder()
+                            .rating(r.getRating())
+                            .comment(r.getComment())
+                            .date(r.getDate())
+                            .reviewerName(r.getReviewerName())
+                            .reviewerEmail(r.getReviewerEmail())
+                            .product(product)
+                            .build())
+                    .collect(Collectors.toList());
+            product.setReviews(reviews);
+        }
+
+        return product;
+    }
+
+}
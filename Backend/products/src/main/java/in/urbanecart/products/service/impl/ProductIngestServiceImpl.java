@@ -0,0 +1,101 @@
+package in.urbanecart.products.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import in.urbanecart.products.DTO.BulkProductResponse;
+import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.DTO.ProductIngestResult;
+import in.urbanecart.products.service.ProductIngestService;
+import in.urbanecart.products.service.ProductService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@Service
+public class ProductIngestServiceImpl implements ProductIngestService {
+
+    private final ProductService productService;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final int chunkSize;
+
+    public ProductIngestServiceImpl(ProductService productService, ObjectMapper objectMapper,
+                                    @Value("${products.ingest.chunk-size:500}") int chunkSize) {
+        this.productService = productService;
+        this.reader = objectMapper.readerFor(ProductDto.class);
+        this.writer = objectMapper.writerFor(ProductIngestResult.class);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void ingest(InputStream ndjson, OutputStream results) throws IOException {
+        BufferedReader lines = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        Map<ProductDto, Long> chunk = new IdentityHashMap<>(chunkSize);
+        List<ProductIngestResult> rejected = new ArrayList<>();
+
+        // Only one chunk is held at a time and the next one is not read until the
+        // previous one is saved and written, so a slow database slows the reader down
+        long lineNo = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+
+            try {
+                chunk.put(reader.readValue(line), lineNo);
+            } catch (JsonProcessingException e) {
+                rejected.add(failed(lineNo, null, "Malformed JSON: " + e.getOriginalMessage()));
+            }
+
+            if (chunk.size() + rejected.size() >= chunkSize) {
+                flush(chunk, rejected, results);
+            }
+        }
+        flush(chunk, rejected, results);
+    }
+
+    private void flush(Map<ProductDto, Long> chunk, List<ProductIngestResult> rejected,
+                       OutputStream results) throws IOException {
+        List<ProductIngestResult> out = new ArrayList<>(rejected);
+
+        if (!chunk.isEmpty()) {
+            BulkProductResponse response = productService.createProducts(new ArrayList<>(chunk.keySet()));
+            for (ProductDto dto : response.getAdded()) {
+                out.add(ProductIngestResult.builder()
+                        .line(chunk.get(dto))
+                        .status("added")
+                        .id(dto.getId())
+                        .sku(dto.getSku())
+                        .build());
+            }
+            for (ProductDto dto : response.getFailed()) {
+                out.add(failed(chunk.get(dto), dto.getSku(), "Unknown category or invalid product"));
+            }
+        }
+
+        out.sort(Comparator.comparingLong(ProductIngestResult::getLine));
+        for (ProductIngestResult result : out) {
+            results.write(writer.writeValueAsBytes(result));
+            results.write('\n');
+        }
+        results.flush();
+
+        chunk.clear();
+        rejected.clear();
+    }
+
+    private static ProductIngestResult failed(Long line, String sku, String error) {
+        return ProductIngestResult.builder()
+                .line(line)
+                .status("failed")
+                .sku(sku)
+                .error(error)
+                .build();
+    }
+
+}
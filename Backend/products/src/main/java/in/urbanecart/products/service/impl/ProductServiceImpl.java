@@ -2,73 +2,136 @@ package in.urbanecart.products.service.impl;
 
 
 import in.urbanecart.products.DTO.BulkProductResponse;
+import in.urbanecart.products.DTO.ProductBatchResponse;
+import in.urbanecart.products.DTO.ProductCursorPage;
 import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.DTO.ProductFilterResponse;
+import in.urbanecart.products.DTO.ProductSummaryDto;
+import in.urbanecart.products.cache.CategoryResolver;
+import in.urbanecart.products.cache.ProductDetailCache;
+import in.urbanecart.products.cache.TagResolver;
+import in.urbanecart.products.datasource.ReplicaRoutingDataSource;
 import in.urbanecart.products.entity.*;
+import in.urbanecart.products.facet.FacetDocument;
+import in.urbanecart.products.facet.FacetQuery;
+import in.urbanecart.products.facet.FacetResult;
+import in.urbanecart.products.facet.ProductFacetIndex;
+import in.urbanecart.products.exception.BatchTooLarge;
 import in.urbanecart.products.exception.CategoryNotFound;
+import in.urbanecart.products.exception.InvalidPage;
 import in.urbanecart.products.exception.ProductNotFound;
 import in.urbanecart.products.mapper.ProductMapper;
-import in.urbanecart.products.repository.CategoryRepository;
+import in.urbanecart.products.outbox.OutboxWriter;
 import in.urbanecart.products.repository.ProductRepository;
-import in.urbanecart.products.repository.TagRepository;
+import in.urbanecart.products.search.ProductSearchIndex;
+import in.urbanecart.products.search.SearchDocument;
 import in.urbanecart.products.service.ProductService;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
+@Observed(name = "products.service")
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
-    private final TagRepository tagRepository;
-    private final CategoryRepository categoryRepository;
-
-    public ProductServiceImpl(ProductRepository productRepository, TagRepository tagRepository,
-                              CategoryRepository categoryRepository) {
+    private final ProductDetailCache productDetailCache;
+    private final CategoryResolver categoryResolver;
+    private final TagResolver tagResolver;
+    private final ProductBatchWriter productBatchWriter;
+    private final ThreadPoolTaskExecutor importExecutor;
+    private final int importBatchSize;
+    private final int maxBatchIds;
+    private final int maxPageSize;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final TransactionTemplate readOnlyTx;
+    private final TransactionTemplate writeTx;
+    private final OutboxWriter outboxWriter;
+
+    // Newest catalog updatedAt this instance has read, for tagging unconditional list responses
+    private final AtomicReference<LocalDateTime> knownCatalogLastModified = new AtomicReference<>();
+
+    private final Timer batchTimer;
+    private final Counter committedBatches;
+    private final Counter failedBatches;
+    private final Counter addedProducts;
+    private final Counter failedProducts;
+
+    public ProductServiceImpl(ProductRepository productRepository, ProductDetailCache productDetailCache,
+                              CategoryResolver categoryResolver, TagResolver tagResolver,
+                              ProductBatchWriter productBatchWriter,
+                              @Qualifier("productImportExecutor") ThreadPoolTaskExecutor importExecutor,
+                              @Value("${products.ingest.batch-size:100}") int importBatchSize,
+                              @Value("${products.batch.max-ids:200}") int maxBatchIds,
+                              @Value("${products.page.max-size:100}") int maxPageSize,
+                              ProductSearchIndex productSearchIndex, ProductFacetIndex productFacetIndex,
+                              PlatformTransactionManager transactionManager, OutboxWriter outboxWriter,
+                              MeterRegistry meterRegistry) {
 
         this.productRepository = productRepository;
-        this.tagRepository = tagRepository;
-        this.categoryRepository=categoryRepository;
+        this.productDetailCache = productDetailCache;
+        this.categoryResolver = categoryResolver;
+        this.tagResolver = tagResolver;
+        this.productBatchWriter = productBatchWriter;
+        this.importExecutor = importExecutor;
+        this.importBatchSize = importBatchSize;
+        this.maxBatchIds = maxBatchIds;
+        this.maxPageSize = maxPageSize;
+        this.productSearchIndex = productSearchIndex;
+        this.productFacetIndex = productFacetIndex;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.outboxWriter = outboxWriter;
+
+        this.batchTimer = Timer.builder("products.import.batch")
+                .description("Time to build and commit one bulk import batch")
+                .register(meterRegistry);
+        this.committedBatches = meterRegistry.counter("products.import.batches", "result", "committed");
+        this.failedBatches = meterRegistry.counter("products.import.batches", "result", "failed");
+        this.addedProducts = meterRegistry.counter("products.import.products", "result", "added");
+        this.failedProducts = meterRegistry.counter("products.import.products", "result", "failed");
     }
 
     @Override
     public ProductDto createProduct(ProductDto dto) {
 
-        // 1. Fetch existing tags from DB
-        List<Tag> existingTags = tagRepository.findAllByNameIn(dto.getTags());
-        Set<String> existingTagNames = existingTags.stream()
-                .map(Tag::getName)
-                .collect(Collectors.toSet());
-
-        // 2. Find names that are not yet in DB
-        List<Tag> newTags = dto.getTags().stream()
-                .filter(name -> !existingTagNames.contains(name))
-                .map(name -> new Tag(name))
-                .collect(Collectors.toList());
-
-        // 3. Save new tags in one batch
-        List<Tag> savedNewTags = tagRepository.saveAll(newTags);
+        // 1. Resolve tags, creating the missing ones
+        List<Tag> allTags = new ArrayList<>(tagResolver.resolveAll(
+                dto.getTags() == null ? List.of() : dto.getTags()).values());
 
-        // 4. Combine all tags
-        List<Tag> allTags = new ArrayList<>();
-        allTags.addAll(existingTags);
-        allTags.addAll(savedNewTags);
-
-        // 5. Find the Category in DB
+        // 2. Find the Category
         String input = dto.getCategory().trim();
-        Category category = categoryRepository.findByNameIgnoreCaseOrSlugIgnoreCase(input,input)
+        Category category = categoryResolver.resolve(input)
                 .orElseThrow(() -> new CategoryNotFound("Category not found: " + input));
 
 
-        // 6. Use allTags in your Product
+        // 3. Use allTags in your Product
         Product product = Product.builder()
                 .title(dto.getTitle())
                 .description(dto.getDescription())
@@ -93,7 +156,7 @@ public class ProductServiceImpl implements ProductService {
                 .returnPolicy(dto.getReturnPolicy())
                 .minimumOrderQuantity(dto.getMinimumOrderQuantity())
                 .createdAt(dto.getMeta().getCreatedAt())
-                .updatedAt(dto.getMeta().getUpdatedAt())
+                .sourceUpdatedAt(dto.getMeta().getUpdatedAt())
                 .barcode(dto.getMeta().getBarcode())
                 .qrCode(dto.getMeta().getQrCode())
                 .thumbnail(dto.getThumbnail())
@@ -112,8 +175,15 @@ public class ProductServiceImpl implements ProductService {
                     .collect(Collectors.toList()));
         }
 
-        Product saved = productRepository.save(product);
+        // 4. The product and its event commit together
+        Product saved = writeTx.execute(status -> {
+            Product created = productRepository.save(product);
+            outboxWriter.productsCreated(List.of(created));
+            return created;
+        });
+        productDetailCache.evict(saved.getId());
         dto.setId(saved.getId());
+        indexProduct(dto, category.getName());
         return dto;
 
     }
@@ -121,175 +191,267 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public ProductDto getProductById(Long id) {
+        // only a miss opens a transaction; hits never touch the connection pool
+        return productDetailCache.get(id, key -> loadForCache(() -> loadProduct(key)));
+    }
+
+    @Override
+    public ProductBatchResponse getProductsByIds(List<Long> ids) {
+        List<Long> requested = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (requested.size() > maxBatchIds) {
+            throw new BatchTooLarge("At most " + maxBatchIds + " ids per batch, got " + requested.size());
+        }
+
+        // 1. Cached products are served as is; all misses are loaded together in one transaction
+        Map<Long, ProductDto> found = productDetailCache.getAll(requested,
+                missing -> loadForCache(() -> loadAll(missing)));
+
+        // 2. Keep the caller's order and name the ids that do not exist
+        List<ProductDto> products = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            ProductDto dto = found.get(id);
+            if (dto != null) {
+                products.add(dto);
+            } else {
+                missing.add(id);
+            }
+        }
+        return ProductBatchResponse.builder()
+                .products(products)
+                .missing(missing)
+                .build();
+    }
+
+    // Cached copies outlive both the request and the replica's lag, so misses are read from the primary
+    private <T> T loadForCache(Supplier<T> load) {
+        return ReplicaRoutingDataSource.onPrimary(() -> readOnlyTx.execute(status -> load.get()));
+    }
+
+    // One IN query with categories joined, then one query per child collection for all of them
+    private Map<Long, ProductDto> loadAll(Collection<? extends Long> ids) {
+        List<Product> products = productRepository.findAllWithCategoryByIdIn(List.copyOf(ids));
+        fetchChildren(products);
+        return products.stream().collect(Collectors.toMap(Product::getId, ProductMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LocalDateTime getCatalogLastModified() {
+        LocalDateTime lastModified = productRepository.findLastModified();
+        knownCatalogLastModified.set(lastModified);
+        return lastModified;
+    }
+
+    @Override
+    public LocalDateTime getKnownCatalogLastModified() {
+        LocalDateTime known = knownCatalogLastModified.get();
+        return known != null ? known : getCatalogLastModified();
+    }
+
+    private ProductDto loadProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFound("Product not found by id: " + id));
 
+        fetchChildren(List.of(product));
         return ProductMapper.toDto(product);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<ProductDto> getPaginatedProducts(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Product> productPage = productRepository.findAll(pageable);
+
+        // 1. Load the page with categories joined
+        Page<Product> productPage = productRepository.findPageWithCategory(pageable);
+        if (productPage.isEmpty()) {
+            return productPage.map(ProductMapper::toDto);
+        }
+
+        // 2. Initialise tags and images for the whole page (one query each)
+        fetchChildren(productPage.getContent());
+
         return productPage.map(ProductMapper::toDto);
     }
 
     @Override
-    public BulkProductResponse createProducts(List<ProductDto> dtos) {
-        Set<String> tagNames = dtos.stream()
-                .flatMap(dto -> dto.getTags().stream())
-                .map(name -> name.trim().toLowerCase())
-                .collect(Collectors.toSet());
-
-        Map<String, Tag> tagMap = preloadTags(tagNames);
-
-        int threadCount = 4;
-        int batchSize = (int) Math.ceil((double) dtos.size() / threadCount);
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDto> getProductSummaries(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending().and(Sort.by("id").descending()));
+        return productRepository.findSummaries(pageable);
+    }
 
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
-        List<Future<Map<String, List<ProductDto>>>> futures = new ArrayList<>();
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getProductFields(List<String> fields, int page, int size) {
+        // 1. id always comes back so clients can follow up with /info
+        List<String> selected = new ArrayList<>();
+        selected.add("id");
+        fields.stream().map(String::trim).filter(f -> !f.isEmpty()).distinct()
+                .filter(f -> !f.equals("id")).forEach(selected::add);
+
+        // 2. Select just those columns; the total is only counted when the page is full
+        Pageable pageable = PageRequest.of(page, size);
+        List<Map<String, Object>> rows = productRepository.findFields(selected, pageable);
+        return PageableExecutionUtils.getPage(rows, pageable, productRepository::count);
+    }
 
-        for (int i = 0; i < dtos.size(); i += batchSize) {
-            int end = Math.min(i + batchSize, dtos.size());
-            List<ProductDto> batch = dtos.subList(i, end);
-            futures.add(executor.submit(() -> processAndSaveBatch(batch, tagMap)));
+    @Override
+    @Transactional(readOnly = true)
+    public ProductCursorPage getProductsAfter(String cursor, int size) {
+        checkPageSize(size);
+
+        // 1. Read one extra row to know whether another page exists, no count query
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Product> products;
+        if (cursor == null || cursor.isBlank()) {
+            products = productRepository.findFirstPage(limit);
+        } else {
+            ProductCursor after = ProductCursor.decode(cursor);
+            products = productRepository.findPageAfter(after.createdAt(), after.id(), limit);
         }
 
-        List<ProductDto> added = new ArrayList<>();
-        List<ProductDto> failed = new ArrayList<>();
-
-        for (Future<Map<String, List<ProductDto>>> future : futures) {
-            try {
-                Map<String, List<ProductDto>> result = future.get();
-                added.addAll(result.getOrDefault("added", Collections.emptyList()));
-                failed.addAll(result.getOrDefault("failed", Collections.emptyList()));
-            } catch (Exception e) {
-                throw new RuntimeException("Batch processing failed", e);
-            }
+        boolean hasNext = products.size() > size;
+        if (hasNext) {
+            products = products.subList(0, size);
         }
 
-        executor.shutdown();
+        // 2. Initialise children and map
+        fetchChildren(products);
+        List<ProductDto> content = ProductMapper.toDtoList(products);
 
-        BulkProductResponse response = new BulkProductResponse();
-        response.setAdded(added);
-        response.setFailed(failed);
-        return response;
-    }
-
-    @Transactional
-    public synchronized Map<String, Tag> preloadTags(Set<String> tagNames) {
-        List<Tag> existingTags = tagRepository.findAllByNameIn(tagNames);
-        Map<String, Tag> tagMap = existingTags.stream()
-                .collect(Collectors.toMap(tag -> tag.getName().toLowerCase(), t -> t));
-
-        // Create tags that don’t exist
-        List<Tag> newTags = tagNames.stream()
-                .filter(name -> !tagMap.containsKey(name))
-                .map(Tag::new)
-                .collect(Collectors.toList());
-
-        if (!newTags.isEmpty()) {
-            List<Tag> savedTags = tagRepository.saveAll(newTags);
-            for (Tag tag : savedTags) {
-                tagMap.put(tag.getName().toLowerCase(), tag);
-            }
+        // 3. The last row of this page is where the next one starts
+        String nextCursor = null;
+        if (hasNext) {
+            Product last = products.get(products.size() - 1);
+            nextCursor = new ProductCursor(last.getCreatedAt(), last.getId()).encode();
         }
 
-        return tagMap;
+        return ProductCursorPage.builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    @Transactional
-    private Map<String, List<ProductDto>> processAndSaveBatch(List<ProductDto> dtos, Map<String, Tag> tagMap) {
-        List<Product> productsToSave = new ArrayList<>();
-        List<ProductDto> added = new ArrayList<>();
-        List<ProductDto> failed = new ArrayList<>();
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDto> searchProducts(String query, int limit) {
+        checkPageSize(limit);
 
-        for (ProductDto dto : dtos) {
-            String input = dto.getCategory().trim();
-            Optional<Category> categoryOpt = categoryRepository.findByNameIgnoreCaseOrSlugIgnoreCase(input,input);
+        // 1. Rank in memory
+        List<Long> ids = productSearchIndex.search(query, limit);
 
-            if (categoryOpt.isEmpty()) {
-                failed.add(dto);
-                continue;
-            }
+        // 2. Load the hits in one go and put them back in rank order
+        return loadInOrder(ids);
+    }
 
-            try {
-                Product product = buildProductFromDto(dto, tagMap, categoryOpt.get());
-                productsToSave.add(product);
-            } catch (Exception e) {
-                failed.add(dto);
-            }
+    @Override
+    @Transactional(readOnly = true)
+    public ProductFilterResponse filterProducts(FacetQuery query, int page, int size) {
+        if (page < 0) {
+            throw new InvalidPage("Page must not be negative, got " + page);
         }
+        checkPageSize(size);
+
+        // 1. Filter and count in memory
+        FacetResult result = productFacetIndex.filter(query, page, size);
+
+        // 2. Load only the page that is returned
+        return ProductFilterResponse.builder()
+                .content(loadInOrder(result.productIds()))
+                .page(page)
+                .size(size)
+                .totalElements(result.total())
+                .facets(result.facets())
+                .build();
+    }
 
-        List<Product> saved = productRepository.saveAll(productsToSave);
+    // the page is collected in memory before it is loaded, so its size is bounded up front
+    private void checkPageSize(int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidPage("Page size must be between 1 and " + maxPageSize + ", got " + size);
+        }
+    }
 
-        for (int i = 0; i < saved.size(); i++) {
-            ProductDto dto = dtos.get(i);
-            dto.setId(saved.get(i).getId());
-            added.add(dto);
+    private List<ProductDto> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
 
-        Map<String, List<ProductDto>> result = new HashMap<>();
-        result.put("added", added);
-        result.put("failed", failed);
-        return result;
+        List<Product> products = productRepository.findAllWithCategoryByIdIn(ids);
+        fetchChildren(products);
+        Map<Long, ProductDto> byId = products.stream()
+                .collect(Collectors.toMap(Product::getId, ProductMapper::toDto));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 
+    private void indexProduct(ProductDto dto, String categoryName) {
+        productSearchIndex.index(new SearchDocument(dto.getId(), dto.getTitle(), dto.getDescription(),
+                dto.getBrand(), categoryName, dto.getTags()));
+        productFacetIndex.index(new FacetDocument(dto.getId(), categoryName, dto.getBrand(),
+                dto.getPrice(), dto.getRating(), dto.getAvailabilityStatus()));
+    }
 
-    private Product buildProductFromDto(ProductDto dto, Map<String, Tag> tagMap, Category category) {
-        List<Tag> tags = dto.getTags().stream()
-                .map(tagName -> tagMap.get(tagName.trim().toLowerCase()))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    private void fetchChildren(List<Product> products) {
+        if (products.isEmpty()) return;
 
-        Product product = Product.builder()
-                .title(dto.getTitle())
-                .description(dto.getDescription())
-                .category(category)
-                .price(dto.getPrice())
-                .discountPercentage(dto.getDiscountPercentage())
-                .rating(dto.getRating())
-                .stock(dto.getStock())
-                .tags(tags)
-                .brand(dto.getBrand())
-                .sku(dto.getSku())
-                .weight(dto.getWeight())
-                .width(dto.getDimensions().getWidth())
-                .height(dto.getDimensions().getHeight())
-                .depth(dto.getDimensions().getDepth())
-                .warrantyInformation(dto.getWarrantyInformation())
-                .shippingInformation(dto.getShippingInformation())
-                .availabilityStatus(dto.getAvailabilityStatus())
-                .returnPolicy(dto.getReturnPolicy())
-                .minimumOrderQuantity(dto.getMinimumOrderQuantity())
-                .createdAt(dto.getMeta().getCreatedAt())
-                .updatedAt(dto.getMeta().getUpdatedAt())
-                .barcode(dto.getMeta().getBarcode())
-                .qrCode(dto.getMeta().getQrCode())
-                .thumbnail(dto.getThumbnail())
-                .build();
+        List<Long> ids = products.stream().map(Product::getId).toList();
+        productRepository.fetchTagsByIdIn(ids);
+        productRepository.fetchImagesByIdIn(ids);
+    }
 
-        List<ProductImage> images = dto.getImages().stream()
-                .map(imageUrl -> new ProductImage(null, imageUrl, product))
-                .collect(Collectors.toList());
-        product.setImages(images);
+    @Override
+    public BulkProductResponse createProducts(List<ProductDto> dtos) {
+        Set<String> tagNames = dtos.stream()
+                .flatMap(dto -> Stream.ofNullable(dto.getTags()).flatMap(List::stream))
+                .collect(Collectors.toSet());
 
-        if (dto.getReviews() != null) {
-            List<Review> reviews = dto.getReviews().stream()
-                    .map(r -> Review.builder()
-                            .rating(r.getRating())
-                            .comment(r.getComment())
-                            .date(r.getDate())
-                            .reviewerName(r.getReviewerName())
-                            .reviewerEmail(r.getReviewerEmail())
-                            .product(product)
-                            .build())
-                    .collect(Collectors.toList());
-            product.setReviews(reviews);
+        Map<String, Tag> tagMap = tagResolver.resolveAll(tagNames);
+
+        // 1. Each batch is saved in its own transaction on the shared import pool
+        List<List<ProductDto>> batches = new ArrayList<>();
+        List<Future<BulkProductResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i += importBatchSize) {
+            List<ProductDto> batch = dtos.subList(i, Math.min(i + importBatchSize, dtos.size()));
+            batches.add(batch);
+            futures.add(importExecutor.submitCompletable(() -> batchTimer.recordCallable(
+                    () -> productBatchWriter.saveBatch(batch, tagMap))));
         }
 
-        return product;
-    }
+        // 2. A batch that fails to commit only fails its own products
+        List<ProductDto> added = new ArrayList<>();
+        List<ProductDto> failed = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                BulkProductResponse result = futures.get(i).get();
+                added.addAll(result.getAdded());
+                failed.addAll(result.getFailed());
+                committedBatches.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bulk import interrupted", e);
+            } catch (ExecutionException e) {
+                log.warn("Product batch of {} failed", batches.get(i).size(), e.getCause());
+                batches.get(i).forEach(dto -> dto.setId(null));
+                failed.addAll(batches.get(i));
+                failedBatches.increment();
+            }
+        }
+        addedProducts.increment(added.size());
+        failedProducts.increment(failed.size());
 
+        productDetailCache.evictAll(added.stream().map(ProductDto::getId).toList());
+        for (ProductDto dto : added) {
+            categoryResolver.resolve(dto.getCategory())
+                    .ifPresent(category -> indexProduct(dto, category.getName()));
+        }
+
+        BulkProductResponse response = new BulkProductResponse();
+        response.setAdded(added);
+        response.setFailed(failed);
+        return response;
+    }
 
-}
\ No newline at end of file
+}
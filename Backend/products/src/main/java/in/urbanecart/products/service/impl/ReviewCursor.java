@@ -0,0 +1,24 @@
+package in.urbanecart.products.service.impl;
+
+import in.urbanecart.products.exception.InvalidCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Id of the last review on a keyset page, handed out in the same opaque form as {@link ProductCursor}.
+ */
+record ReviewCursor(Long id) {
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ReviewCursor decode(String cursor) {
+        try {
+            return new ReviewCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursor("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package in.urbanecart.products.service.impl;
+
+import in.urbanecart.products.DTO.ReviewCursorPage;
+import in.urbanecart.products.DTO.ReviewDto;
+import in.urbanecart.products.cache.ProductDetailCache;
+import in.urbanecart.products.entity.Product;
+import in.urbanecart.products.entity.Review;
+import in.urbanecart.products.exception.InvalidPage;
+import in.urbanecart.products.exception.InvalidReview;
+import in.urbanecart.products.exception.ProductNotFound;
+import in.urbanecart.products.facet.FacetDocument;
+import in.urbanecart.products.facet.ProductFacetIndex;
+import in.urbanecart.products.mapper.ProductMapper;
+import in.urbanecart.products.outbox.OutboxWriter;
+import in.urbanecart.products.repository.ProductRepository;
+import in.urbanecart.products.repository.ReviewRepository;
+import in.urbanecart.products.service.ReviewService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reviews live outside the product payload. Adding one moves the product's review count and rating
+ * total by a single step under the product's row lock, so the average never needs the other reviews.
+ */
+@Service
+public class ReviewServiceImpl implements ReviewService {
+
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final ProductDetailCache productDetailCache;
+    private final ProductFacetIndex productFacetIndex;
+    private final OutboxWriter outboxWriter;
+    private final TransactionTemplate writeTx;
+    private final int maxPageSize;
+
+    public ReviewServiceImpl(ProductRepository productRepository, ReviewRepository reviewRepository,
+                             ProductDetailCache productDetailCache, ProductFacetIndex productFacetIndex,
+                             OutboxWriter outboxWriter, PlatformTransactionManager transactionManager,
+                             @Value("${products.page.max-size:100}") int maxPageSize) {
+        this.productRepository = productRepository;
+        this.reviewRepository = reviewRepository;
+        this.productDetailCache = productDetailCache;
+        this.productFacetIndex = productFacetIndex;
+        this.outboxWriter = outboxWriter;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public ReviewDto addReview(Long productId, ReviewDto dto) {
+        if (dto.getRating() < 1 || dto.getRating() > 5) {
+            throw new InvalidReview("Rating must be between 1 and 5, got " + dto.getRating());
+        }
+
+        // 1. Save the review and step the aggregates; concurrent reviews of a product queue on its row
+        Product product = writeTx.execute(status -> {
+            Product locked = productRepository.lockById(productId)
+                    .orElseThrow(() -> new ProductNotFound("Product not found with id: " + productId));
+            if (locked.getReviewCount() == null) {
+                seedRatings(locked);
+            }
+            Review review = reviewRepository.save(Review.builder()
+                    .rating(dto.getRating())
+                    .comment(dto.getComment())
+                    .date(Objects.requireNonNullElseGet(dto.getDate(), LocalDateTime::now))
+                    .reviewerName(dto.getReviewerName())
+                    .reviewerEmail(dto.getReviewerEmail())
+                    .product(locked)
+                    .build());
+            locked.addRating(review.getRating());
+            outboxWriter.reviewAdded(locked);
+            dto.setId(review.getId());
+            dto.setDate(review.getDate());
+            return locked;
+        });
+
+        // 2. The cached detail and the rating facet follow the committed rating
+        productDetailCache.evict(productId);
+        productFacetIndex.index(new FacetDocument(product.getId(), product.getCategory().getName(),
+                product.getBrand(), product.getPrice(), product.getRating(), product.getAvailabilityStatus()));
+        return dto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewCursorPage getReviews(Long productId, String cursor, int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new InvalidPage("Page size must be between 1 and " + maxPageSize + ", got " + size);
+        }
+
+        // 1. Read one extra row to know whether another page exists, no count query
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Review> reviews = cursor == null || cursor.isBlank()
+                ? reviewRepository.findFirstPage(productId, limit)
+                : reviewRepository.findPageAfter(productId, ReviewCursor.decode(cursor).id(), limit);
+        if (reviews.isEmpty() && !productRepository.existsById(productId)) {
+            throw new ProductNotFound("Product not found with id: " + productId);
+        }
+
+        boolean hasNext = reviews.size() > size;
+        if (hasNext) {
+            reviews = reviews.subList(0, size);
+        }
+
+        // 2. The last review of this page is where the next one starts
+        return ReviewCursorPage.builder()
+                .content(reviews.stream().map(ProductMapper::toDto).toList())
+                .size(reviews.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new ReviewCursor(reviews.get(reviews.size() - 1).getId()).encode() : null)
+                .build();
+    }
+
+    // Products stored before the aggregates existed are counted once, on their first new review
+    private void seedRatings(Product product) {
+        Object[] sums = reviewRepository.sumRatingsByProductId(product.getId()).get(0);
+        product.setReviewCount(((Number) sums[0]).intValue());
+        product.setRatingTotal(((Number) sums[1]).longValue());
+    }
+}
@@ -0,0 +1,35 @@
+package in.urbanecart.products.service.impl;
+
+import in.urbanecart.products.repository.StockShardRepository;
+import in.urbanecart.products.service.HotStockService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically evens out the shards of every hot product, one short transaction per product,
+ * and refreshes the total shown on the product.
+ */
+@Slf4j
+@Component
+public class StockShardRebalancer {
+
+    private final StockShardRepository stockShardRepository;
+    private final HotStockService hotStockService;
+
+    public StockShardRebalancer(StockShardRepository stockShardRepository, HotStockService hotStockService) {
+        this.stockShardRepository = stockShardRepository;
+        this.hotStockService = hotStockService;
+    }
+
+    @Scheduled(fixedDelayString = "${products.stock.rebalance-interval:1s}")
+    public void rebalanceAll() {
+        for (Long productId : stockShardRepository.findShardedProductIds()) {
+            try {
+                hotStockService.rebalance(productId);
+            } catch (RuntimeException e) {
+                log.warn("Could not rebalance stock shards of product {}", productId, e);
+            }
+        }
+    }
+}
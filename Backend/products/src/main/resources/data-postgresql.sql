@@ -0,0 +1,7 @@
+-- Ids moved from identity columns to pooled sequences (allocationSize 50).
+-- Keep every sequence ahead of the rows inserted before the switch; never moves a sequence backwards.
+SELECT setval('category_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM category) + 50, (SELECT last_value FROM category_seq)));
+SELECT setval('tag_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tag) + 50, (SELECT last_value FROM tag_seq)));
+SELECT setval('product_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM product) + 50, (SELECT last_value FROM product_seq)));
+SELECT setval('product_image_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM product_image) + 50, (SELECT last_value FROM product_image_seq)));
+SELECT setval('review_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM review) + 50, (SELECT last_value FROM review_seq)));
@@ -0,0 +1,97 @@
+package in.urbanecart.products.cache;
+
+import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.entity.Category;
+import in.urbanecart.products.entity.Product;
+import in.urbanecart.products.facet.FacetQuery;
+import in.urbanecart.products.repository.CategoryRepository;
+import in.urbanecart.products.repository.ProductRepository;
+import in.urbanecart.products.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductDetailCacheSyncTests {
+
+    @Autowired
+    private ProductDetailCacheSync productDetailCacheSync;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long productId;
+
+    @AfterEach
+    void cleanUp() {
+        productRepository.deleteById(productId);
+    }
+
+    @Test
+    void stockReservedElsewhereIsEvictedOnTheNextSync() {
+        productId = save(10).getId();
+        assertThat(productService.getProductById(productId).getStock()).isEqualTo(10);
+
+        // 1. As order-service reserves: straight to the row, past this instance's cache
+        jdbcTemplate.update("UPDATE product SET stock = stock - 4, updated_at = ? WHERE id = ?",
+                LocalDateTime.now(), productId);
+        assertThat(productService.getProductById(productId).getStock()).isEqualTo(10);
+
+        // 2. The next sync drops the cached copy
+        productDetailCacheSync.sync();
+        assertThat(productService.getProductById(productId).getStock()).isEqualTo(6);
+    }
+
+    @Test
+    void productChangedElsewhereIsReindexedOnTheNextSync() {
+        productId = save(10).getId();
+
+        // 1. Another instance renames the product and changes its facets
+        jdbcTemplate.update("UPDATE product SET title = ?, brand = ?, availability_status = ?, updated_at = ? " +
+                "WHERE id = ?", "renamed synced gadget", "SyncBrand", "Low Stock", LocalDateTime.now(), productId);
+        FacetQuery lowStockSyncBrand = new FacetQuery(null, Set.of("SyncBrand"), null, null, Set.of("Low Stock"));
+        assertThat(productService.searchProducts("synced", 10)).isEmpty();
+        assertThat(productService.filterProducts(lowStockSyncBrand, 0, 10).getTotalElements()).isZero();
+
+        // 2. The next sync brings both indexes up to date
+        productDetailCacheSync.sync();
+        assertThat(productService.searchProducts("synced", 10)).extracting(ProductDto::getId).containsExactly(productId);
+        assertThat(productService.filterProducts(lowStockSyncBrand, 0, 10).getContent())
+                .extracting(ProductDto::getId).containsExactly(productId);
+    }
+
+    private Product save(int stock) {
+        Category category = categoryRepository.findByNameIgnoreCase("cache-sync-category")
+                .orElseGet(() -> categoryRepository.save(
+                        Category.builder().name("cache-sync-category").slug("cache-sync-category").build()));
+        return productRepository.saveAndFlush(Product.builder()
+                .title("cache-sync-product")
+                .category(category)
+                .price(BigDecimal.TEN)
+                .stock(stock)
+                .tags(new ArrayList<>())
+                .images(new ArrayList<>())
+                .reviews(new ArrayList<>())
+                .build());
+    }
+}
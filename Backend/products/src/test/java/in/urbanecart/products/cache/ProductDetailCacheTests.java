@@ -0,0 +1,70 @@
+package in.urbanecart.products.cache;
+
+import in.urbanecart.products.DTO.ProductDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductDetailCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProductDetailCache cache = new ProductDetailCache(registry, 100, Duration.ofMinutes(1));
+
+    @Test
+    void concurrentMissesForOneIdRunOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<ProductDto>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(1L, id -> {
+                        loads.incrementAndGet();
+                        sleep(100);
+                        return ProductDto.builder().id(id).build();
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<ProductDto> future : futures) {
+                assertThat(future.get().getId()).isEqualTo(1L);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictForcesReloadAndIsVisibleInMetrics() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.get(7L, id -> ProductDto.builder().id(id).title("v" + loads.incrementAndGet()).build());
+        cache.evict(7L);
+        ProductDto reloaded = cache.get(7L, id -> ProductDto.builder().id(id).title("v" + loads.incrementAndGet()).build());
+
+        assertThat(reloaded.getTitle()).isEqualTo("v2");
+        assertThat(registry.get("cache.gets").tag("cache", "productDetails").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
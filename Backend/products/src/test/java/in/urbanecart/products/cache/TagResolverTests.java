@@ -0,0 +1,58 @@
+package in.urbanecart.products.cache;
+
+import in.urbanecart.products.entity.Tag;
+import in.urbanecart.products.repository.TagRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TagResolverTests {
+
+    @Autowired
+    private TagResolver tagResolver;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Test
+    void parallelImportsWithOverlappingTagsCreateEachTagOnce() throws Exception {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            names.add("Upsert-" + i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Map<String, Tag>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                List<String> shuffled = new ArrayList<>(names);
+                Collections.shuffle(shuffled, new Random(t));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return tagResolver.resolveAll(shuffled.subList(0, 30));
+                }));
+            }
+            start.countDown();
+
+            for (Future<Map<String, Tag>> future : futures) {
+                assertThat(future.get()).hasSize(30).allSatisfy((name, tag) -> assertThat(tag.getId()).isNotNull());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Tag> stored = tagRepository.findAll().stream()
+                .filter(tag -> tag.getName().startsWith("upsert-"))
+                .toList();
+        assertThat(stored).extracting(Tag::getName).doesNotHaveDuplicates();
+    }
+}
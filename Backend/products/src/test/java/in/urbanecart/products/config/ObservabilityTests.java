@@ -0,0 +1,41 @@
+package in.urbanecart.products.config;
+
+import in.urbanecart.products.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ObservabilityTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void serviceCallsAndRequestsAreMeasured() {
+        productService.getPaginatedProducts(0, 5);
+        assertThat(meterRegistry.find("products.service")
+                .tag("class", "in.urbanecart.products.service.impl.ProductServiceImpl")
+                .tag("method", "getPaginatedProducts")
+                .timer()).isNotNull();
+
+        restTemplate.getForEntity("/api/products?page=0&size=5", String.class);
+        assertThat(meterRegistry.find("hibernate.request.statements").tag("uri", "/api/products")
+                .summary().max()).isGreaterThan(0);
+
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+        assertThat(meterRegistry.find("hibernate.statements").functionCounter()).isNotNull();
+    }
+}
@@ -0,0 +1,129 @@
+package in.urbanecart.products.controllers;
+
+import in.urbanecart.products.cache.ProductDetailCache;
+import in.urbanecart.products.entity.Category;
+import in.urbanecart.products.entity.Product;
+import in.urbanecart.products.repository.CategoryRepository;
+import in.urbanecart.products.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ProductConditionalGetTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductDetailCache productDetailCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void unchangedProductIsNotModified() {
+        Product product = save("etag-product");
+        String url = "/api/products/info?id=" + product.getId();
+
+        ResponseEntity<String> first = restTemplate.getForEntity(url, String.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getETag()).isNotNull();
+        assertThat(first.getHeaders().getLastModified()).isPositive();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ResponseEntity<String> second = get(url, first.getHeaders().getETag());
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // a write moves updatedAt and with it the validator; writes through the service evict the cached copy
+        product.setPrice(BigDecimal.ONE);
+        productRepository.saveAndFlush(product);
+        productDetailCache.evict(product.getId());
+        assertThat(get(url, first.getHeaders().getETag()).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void listValidatorChangesWhenCatalogChanges() {
+        save("etag-list-1");
+        String url = "/api/products?page=0&size=5";
+
+        String etag = get(url, "\"stale\"").getHeaders().getETag();
+        assertThat(get(url, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        // another page, another view or another format is another body
+        assertThat(get("/api/products?page=1&size=5", etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(get("/api/products/summary?page=0&size=5", etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+        HttpHeaders cbor = new HttpHeaders();
+        cbor.setIfNoneMatch(etag);
+        cbor.setAccept(List.of(MediaType.APPLICATION_CBOR));
+        assertThat(restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(cbor), byte[].class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        save("etag-list-2");
+        assertThat(get(url, etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void backDatedImportStillChangesTheListValidator() {
+        save("etag-import-seed");
+        String url = "/api/products/summary?page=0&size=5";
+        String etag = get(url, "\"stale\"").getHeaders().getETag();
+        assertThat(get(url, etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        // the feed's own timestamps are years old
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String product = """
+                [{"title":"etag-imported","sku":"ETAG-IMPORT","category":"etag-category","price":5,"stock":1,\
+                "images":[],"dimensions":{"width":1,"height":1,"depth":1},\
+                "meta":{"createdAt":"2020-01-01T00:00:00","updatedAt":"2020-01-01T00:00:00"}}]""";
+        assertThat(restTemplate.postForEntity("/api/products/bulk", new HttpEntity<>(product, headers), String.class)
+                .getBody()).contains("ETAG-IMPORT");
+
+        assertThat(get(url, etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private ResponseEntity<String> get(String url, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private Product save(String title) {
+        Category category = categoryRepository.findByNameIgnoreCase("etag-category")
+                .orElseGet(() -> categoryRepository.save(
+                        Category.builder().name("etag-category").slug("etag-category").build()));
+        return productRepository.saveAndFlush(Product.builder()
+                .title(title)
+                .category(category)
+                .price(BigDecimal.TEN)
+                .stock(1)
+                .tags(new ArrayList<>())
+                .images(new ArrayList<>())
+                .reviews(new ArrayList<>())
+                .build());
+    }
+}
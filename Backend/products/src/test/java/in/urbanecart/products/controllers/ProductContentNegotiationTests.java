@@ -0,0 +1,104 @@
+package in.urbanecart.products.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.urbanecart.products.DTO.ProductBatchResponse;
+import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.entity.Category;
+import in.urbanecart.products.entity.Product;
+import in.urbanecart.products.repository.CategoryRepository;
+import in.urbanecart.products.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ProductContentNegotiationTests {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+    private final ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper json;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void acceptHeaderSelectsTheFormatAndJsonStaysTheDefault() throws Exception {
+        String url = "/api/products/info?id=" + save("negotiated").getId();
+
+        ResponseEntity<byte[]> asJson = get(url, MediaType.ALL);
+        assertThat(asJson.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(asJson.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+        ProductDto expected = json.readValue(asJson.getBody(), ProductDto.class);
+
+        ResponseEntity<byte[]> asCbor = get(url, MediaType.APPLICATION_CBOR);
+        assertThat(asCbor.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(cbor.readValue(asCbor.getBody(), ProductDto.class)).isEqualTo(expected);
+        assertThat(asCbor.getBody().length).isLessThan(asJson.getBody().length);
+
+        ResponseEntity<byte[]> asSmile = get(url, SMILE);
+        assertThat(asSmile.getHeaders().getContentType()).isEqualTo(SMILE);
+        assertThat(smile.readValue(asSmile.getBody(), ProductDto.class)).isEqualTo(expected);
+
+        // each format is its own representation, so it carries its own validator
+        assertThat(List.of(asJson.getHeaders().getETag(), asCbor.getHeaders().getETag(), asSmile.getHeaders().getETag()))
+                .doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void binaryRequestBodiesAreRead() throws Exception {
+        Long id = save("negotiated-batch").getId();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_CBOR);
+        headers.setAccept(List.of(MediaType.APPLICATION_CBOR));
+        ResponseEntity<byte[]> response = restTemplate.exchange("/api/products/batch", HttpMethod.POST,
+                new HttpEntity<>(cbor.writeValueAsBytes(List.of(id, -1L)), headers), byte[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ProductBatchResponse batch = cbor.readValue(response.getBody(), ProductBatchResponse.class);
+        assertThat(batch.getProducts()).extracting(ProductDto::getId).containsExactly(id);
+        assertThat(batch.getMissing()).containsExactly(-1L);
+    }
+
+    private ResponseEntity<byte[]> get(String url, MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private Product save(String title) {
+        Category category = categoryRepository.findByNameIgnoreCase("negotiation-category")
+                .orElseGet(() -> categoryRepository.save(
+                        Category.builder().name("negotiation-category").slug("negotiation-category").build()));
+        return productRepository.saveAndFlush(Product.builder()
+                .title(title)
+                .category(category)
+                .price(new BigDecimal("19.99"))
+                .stock(3)
+                .tags(new ArrayList<>())
+                .images(new ArrayList<>())
+                .reviews(new ArrayList<>())
+                .build());
+    }
+}
@@ -0,0 +1,168 @@
+package in.urbanecart.products.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTests {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate routed;
+    private TransactionTemplate readTx;
+    private TransactionTemplate writeTx;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void twoDatabases() {
+        DriverManagerDataSource primaryDb = h2("primary");
+        DriverManagerDataSource replicaDb = h2("replica");
+        primary = new JdbcTemplate(primaryDb);
+        replica = new JdbcTemplate(replicaDb);
+        for (JdbcTemplate db : new JdbcTemplate[]{primary, replica}) {
+            db.execute("CREATE TABLE served_by (name VARCHAR(20))");
+        }
+        primary.update("INSERT INTO served_by VALUES ('primary')");
+        replica.update("INSERT INTO served_by VALUES ('replica')");
+        replica.execute("CREATE TABLE replica_lag (seconds DOUBLE PRECISION)");
+        replica.update("INSERT INTO replica_lag VALUES (0.5)");
+
+        lagMonitor = new ReplicaLagMonitor(replicaDb, "SELECT seconds FROM replica_lag", Duration.ofSeconds(2),
+                new SimpleMeterRegistry());
+        dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primaryDb, replicaDb, lagMonitor, new ReadYourWrites(Duration.ofMinutes(1), 100)));
+        routed = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void unbind() {
+        ReadYourWrites.unbind();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaOnlyWithinTheLagTolerance() {
+        // 1. Nothing is read from the replica before its lag is known
+        assertThat(servedByInReadOnlyTransaction()).isEqualTo("primary");
+
+        lagMonitor.check();
+        assertThat(servedByInReadOnlyTransaction()).isEqualTo("replica");
+        assertThat(servedByInTransaction()).isEqualTo("primary");
+        assertThat(servedBy()).isEqualTo("primary");
+
+        // 2. A replica too far behind, or gone, is skipped until it is back within tolerance
+        replica.update("UPDATE replica_lag SET seconds = 5");
+        lagMonitor.check();
+        assertThat(servedByInReadOnlyTransaction()).isEqualTo("primary");
+
+        replica.update("UPDATE replica_lag SET seconds = 0");
+        lagMonitor.check();
+        assertThat(servedByInReadOnlyTransaction()).isEqualTo("replica");
+
+        replica.execute("DROP TABLE replica_lag");
+        lagMonitor.check();
+        assertThat(servedByInReadOnlyTransaction()).isEqualTo("primary");
+    }
+
+    @Test
+    void clientsReadTheirOwnWritesFromThePrimary() {
+        lagMonitor.check();
+
+        ReadYourWrites.bind("writer");
+        writeTx.executeWithoutResult(status -> routed.update("INSERT INTO served_by VALUES ('primary')"));
+        assertThat(servedByInReadOnlyTransaction()).isEqualTo("primary");
+
+        ReadYourWrites.bind("reader");
+        assertThat(servedByInReadOnlyTransaction()).isEqualTo("replica");
+    }
+
+    @Test
+    void jpaTransactionsAreRoutedTheSameWay() {
+        lagMonitor.check();
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan(getClass().getPackageName());
+        factoryBean.setJpaPropertyMap(Map.of(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION));
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        try {
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+            JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+            TransactionTemplate jpaReadTx = new TransactionTemplate(transactionManager);
+            jpaReadTx.setReadOnly(true);
+            TransactionTemplate jpaWriteTx = new TransactionTemplate(transactionManager);
+
+            // 1. Each transaction takes its connection once its read-only flag is known
+            assertThat(servedBy(jpaReadTx, entityManager)).isEqualTo("replica");
+            assertThat(servedBy(jpaWriteTx, entityManager)).isEqualTo("primary");
+
+            // 2. Under open-in-view one session spans several transactions, and each is routed afresh
+            EntityManager session = entityManagerFactory.createEntityManager();
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(session));
+            try {
+                assertThat(servedBy(jpaWriteTx, entityManager)).isEqualTo("primary");
+                assertThat(servedBy(jpaReadTx, entityManager)).isEqualTo("replica");
+            } finally {
+                TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+                session.close();
+            }
+
+            // 3. Reads that are cached beyond the request stay on the primary
+            assertThat(ReplicaRoutingDataSource.onPrimary(() -> servedBy(jpaReadTx, entityManager))).isEqualTo("primary");
+            assertThat(servedBy(jpaReadTx, entityManager)).isEqualTo("replica");
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+
+    private static String servedBy(TransactionTemplate tx, EntityManager entityManager) {
+        return tx.execute(status ->
+                (String) entityManager.createNativeQuery("SELECT name FROM served_by").getResultList().get(0));
+    }
+
+    private String servedByInReadOnlyTransaction() {
+        return readTx.execute(status -> servedBy());
+    }
+
+    private String servedByInTransaction() {
+        return writeTx.execute(status -> servedBy());
+    }
+
+    private String servedBy() {
+        return routed.queryForList("SELECT name FROM served_by", String.class).get(0);
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,65 @@
+package in.urbanecart.products.facet;
+
+import in.urbanecart.products.exception.InvalidFacet;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductFacetIndexTests {
+
+    private final ProductFacetIndex index = new ProductFacetIndex();
+
+    @Test
+    void filtersAcrossFacetsAndCountsOtherValuesOfTheSelectedFacet() {
+        index.index(doc(1L, "laptops", "Apple", "999.00", "4.7", "In Stock"));
+        index.index(doc(2L, "laptops", "Asus", "450.00", "3.9", "In Stock"));
+        index.index(doc(3L, "tablets", "Apple", "329.00", "4.4", "Low Stock"));
+        index.index(doc(4L, "phones", "Apple", "19.99", "2.1", "In Stock"));
+
+        FacetResult result = index.filter(new FacetQuery(Set.of("laptops", "tablets"), Set.of("Apple"),
+                null, 4, null), 0, 10);
+
+        assertThat(result.productIds()).containsExactly(3L, 1L);
+        assertThat(result.total()).isEqualTo(2);
+        // category counts ignore the category filter but apply brand and rating
+        assertThat(result.facets().get(ProductFacetIndex.CATEGORY))
+                .containsEntry("laptops", 1L).containsEntry("tablets", 1L).doesNotContainKey("phones");
+        assertThat(result.facets().get(ProductFacetIndex.BRAND))
+                .containsEntry("Apple", 2L).doesNotContainKey("Asus");
+        assertThat(result.facets().get(ProductFacetIndex.PRICE).keySet()).containsExactly("250-500", "500-1000");
+    }
+
+    @Test
+    void reindexingMovesProductBetweenValues() {
+        index.index(doc(1L, "laptops", "Apple", "999.00", "4.7", "In Stock"));
+        index.index(doc(1L, "laptops", "Apple", "999.00", "4.7", "Out of Stock"));
+
+        FacetResult inStock = index.filter(new FacetQuery(null, null, null, null, Set.of("In Stock")), 0, 10);
+        assertThat(inStock.total()).isZero();
+        assertThat(inStock.facets().get(ProductFacetIndex.AVAILABILITY)).containsOnlyKeys("Out of Stock");
+    }
+
+    @Test
+    void unknownPriceRangesAndRatingsAreRejected() {
+        index.index(doc(1L, "laptops", "Apple", "999.00", "4.7", "In Stock"));
+
+        assertThat(index.filter(new FacetQuery(null, null, Set.of("500-1000"), 0, null), 0, 10).total()).isEqualTo(1);
+        for (String range : new String[]{"abc", "-5", "500-9999", "500"}) {
+            assertThatThrownBy(() -> index.filter(new FacetQuery(null, null, Set.of(range), null, null), 0, 10))
+                    .isInstanceOf(InvalidFacet.class);
+        }
+        assertThatThrownBy(() -> index.filter(new FacetQuery(null, null, null, 6, null), 0, 10))
+                .isInstanceOf(InvalidFacet.class);
+        assertThatThrownBy(() -> index.filter(new FacetQuery(null, null, null, -1, null), 0, 10))
+                .isInstanceOf(InvalidFacet.class);
+    }
+
+    private static FacetDocument doc(Long id, String category, String brand, String price, String rating,
+                                     String availability) {
+        return new FacetDocument(id, category, brand, new BigDecimal(price), new BigDecimal(rating), availability);
+    }
+}
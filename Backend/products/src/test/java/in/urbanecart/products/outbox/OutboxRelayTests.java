@@ -0,0 +1,146 @@
+package in.urbanecart.products.outbox;
+
+import in.urbanecart.products.entity.Category;
+import in.urbanecart.products.entity.Product;
+import in.urbanecart.products.repository.CategoryRepository;
+import in.urbanecart.products.repository.ProductRepository;
+import in.urbanecart.products.service.HotStockService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayTests {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private ProductEventBroker broker;
+
+    @Autowired
+    private HotStockService hotStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<ProductEvent> received = new CopyOnWriteArrayList<>();
+    private final List<Long> created = new ArrayList<>();
+    private Runnable unsubscribe = () -> { };
+
+    @AfterEach
+    void cleanUp() {
+        unsubscribe.run();
+        created.forEach(id -> {
+            hotStockService.disableShards(id);
+            productRepository.deleteById(id);
+        });
+        outboxRelay.relay();
+    }
+
+    @Test
+    void committedChangesAreRelayedOnceAndRolledBackOnesNever() {
+        outboxRelay.relay();
+        unsubscribe = broker.subscribe(record());
+        Product product = save(12);
+
+        // 1. A change that rolls back leaves no event behind
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            outboxWriter.productsCreated(List.of(product));
+            status.setRollbackOnly();
+        });
+        assertThat(outboxRelay.relayBatch()).isZero();
+
+        // 2. Committed ones are published and removed from the outbox
+        tx.executeWithoutResult(status -> outboxWriter.productsCreated(List.of(product)));
+        hotStockService.enableShards(product.getId(), 3);
+        assertThat(outboxRelay.relayBatch()).isEqualTo(1);
+        assertThat(received).extracting(ProductEvent::type)
+                .containsExactly(ProductEventType.PRODUCT_CREATED.name());
+        assertThat(received.get(0).payload()).contains("\"stock\":12");
+
+        // 3. Splitting the stock kept its total, so only the drained shards' new total is announced
+        jdbcTemplate.update("UPDATE stock_shard SET stock = 0 WHERE product_id = ?", product.getId());
+        hotStockService.rebalance(product.getId());
+        assertThat(outboxRelay.relayBatch()).isEqualTo(1);
+        assertThat(received.get(1).type()).isEqualTo(ProductEventType.STOCK_CHANGED.name());
+        assertThat(received.get(1).payload()).contains("\"stock\":0");
+
+        assertThat(outboxRelay.relayBatch()).isZero();
+    }
+
+    @Test
+    void failedPublishKeepsTheBatchForTheNextRun() {
+        Product product = save(3);
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> outboxWriter.productsCreated(List.of(product)));
+
+        ProductEventBroker down = new InProcessProductEventBroker() {
+            @Override
+            public void publish(List<ProductEvent> events) {
+                throw new IllegalStateException("broker unavailable");
+            }
+        };
+        OutboxRelay failing = new OutboxRelay(jdbcTemplate, transactionManager, down, new SimpleMeterRegistry(), 100);
+        assertThatThrownBy(failing::relayBatch).isInstanceOf(IllegalStateException.class);
+
+        unsubscribe = broker.subscribe(record());
+        outboxRelay.relay();
+        assertThat(received).extracting(ProductEvent::productId).contains(product.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_outbox", Integer.class)).isZero();
+    }
+
+    private Consumer<ProductEvent> record() {
+        return event -> {
+            if (created.contains(event.productId())) {
+                received.add(event);
+            }
+        };
+    }
+
+    private Product save(int stock) {
+        Category category = categoryRepository.findByNameIgnoreCase("outbox-category")
+                .orElseGet(() -> categoryRepository.save(
+                        Category.builder().name("outbox-category").slug("outbox-category").build()));
+        Product product = productRepository.saveAndFlush(Product.builder()
+                .title("outbox-product")
+                .category(category)
+                .price(BigDecimal.TEN)
+                .stock(stock)
+                .tags(new ArrayList<>())
+                .images(new ArrayList<>())
+                .reviews(new ArrayList<>())
+                .build());
+        created.add(product.getId());
+        return product;
+    }
+}
@@ -0,0 +1,61 @@
+package in.urbanecart.products.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTests {
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        index.index(new SearchDocument(1L, "Cotton shirt", "A red summer shirt", "Acme", "Tops", List.of()));
+        index.index(new SearchDocument(2L, "Red Lipstick", "Long lasting", "Glow", "Beauty", List.of("makeup")));
+        index.index(new SearchDocument(3L, "Desk lamp", "Warm light", "Lumo", "Home", List.of("red")));
+
+        assertThat(index.search("red", 10)).containsExactly(2L, 3L, 1L);
+        assertThat(index.search("MAKEUP lipstick", 10)).containsExactly(2L);
+        assertThat(index.search("beauty", 10)).containsExactly(2L);
+        assertThat(index.search("nothing-here", 10)).isEmpty();
+    }
+
+    @Test
+    void reindexingReplacesAndRemoveDropsProduct() {
+        index.index(new SearchDocument(1L, "Old name", null, null, null, null));
+        index.index(new SearchDocument(1L, "New name", null, null, null, null));
+
+        assertThat(index.search("old", 10)).isEmpty();
+        assertThat(index.search("new", 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove(1L);
+        assertThat(index.search("new", 10)).isEmpty();
+    }
+
+    @Test
+    void reindexingUnchangedTextKeepsTheDoc() {
+        SearchDocument phone = new SearchDocument(1L, "phone", "a phone", "Acme", "phones", List.of("5g"));
+        index.index(phone);
+        index.index(new SearchDocument(1L, "phone", "a phone", "Acme", "phones", List.of("5g")));
+        assertThat(index.docCount()).isEqualTo(1);
+
+        // text moving between fields is a change
+        index.index(new SearchDocument(1L, "phone", "a phone", "Acme", "phones5g", List.of()));
+        assertThat(index.docCount()).isEqualTo(2);
+        assertThat(index.search("5g", 10)).isEmpty();
+    }
+
+    @Test
+    void limitKeepsBestHits() {
+        for (long id = 1; id <= 100; id++) {
+            String title = id == 42 ? "phone phone case" : "phone accessory " + id;
+            index.index(new SearchDocument(id, title, null, null, null, null));
+        }
+
+        List<Long> hits = index.search("phone", 5);
+        assertThat(hits).hasSize(5).startsWith(42L);
+    }
+}
@@ -0,0 +1,88 @@
+package in.urbanecart.products.service;
+
+import in.urbanecart.products.entity.Category;
+import in.urbanecart.products.entity.Product;
+import in.urbanecart.products.entity.StockShard;
+import in.urbanecart.products.exception.InvalidShardCount;
+import in.urbanecart.products.repository.CategoryRepository;
+import in.urbanecart.products.repository.ProductRepository;
+import in.urbanecart.products.repository.StockShardRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class HotStockServiceTests {
+
+    @Autowired
+    private HotStockService hotStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private StockShardRepository stockShardRepository;
+
+    @Test
+    void shardsSplitRebalanceAndFoldBackWithoutLosingStock() {
+        Long id = save(103).getId();
+
+        assertThat(hotStockService.enableShards(id, 4).getShards()).containsExactly(26, 26, 26, 25);
+        assertThat(productRepository.findById(id).orElseThrow().getStockShards()).isEqualTo(4);
+
+        // checkouts drained shard 0 and part of shard 1
+        List<StockShard> shards = stockShardRepository.findByProductIdOrderByShardNo(id);
+        shards.get(0).setStock(0);
+        shards.get(1).setStock(10);
+        stockShardRepository.saveAll(shards);
+
+        hotStockService.rebalance(id);
+        assertThat(hotStockService.getShards(id).getShards()).containsExactly(16, 15, 15, 15);
+        assertThat(productRepository.findById(id).orElseThrow().getStock()).isEqualTo(61);
+
+        assertThat(hotStockService.enableShards(id, 2).getShards()).containsExactly(31, 30);
+        assertThat(stockShardRepository.findByProductIdOrderByShardNo(id)).hasSize(2);
+
+        assertThat(hotStockService.disableShards(id).getTotalStock()).isEqualTo(61);
+        Product product = productRepository.findById(id).orElseThrow();
+        assertThat(product.getStockShards()).isNull();
+        assertThat(product.getStock()).isEqualTo(61);
+        assertThat(stockShardRepository.findByProductIdOrderByShardNo(id)).isEmpty();
+    }
+
+    @Test
+    void shardCountIsBounded() {
+        Long id = save(10).getId();
+        assertThatThrownBy(() -> hotStockService.enableShards(id, 0)).isInstanceOf(InvalidShardCount.class);
+        assertThatThrownBy(() -> hotStockService.enableShards(id, 65)).isInstanceOf(InvalidShardCount.class);
+    }
+
+    private Product save(int stock) {
+        Category category = categoryRepository.findByNameIgnoreCase("hot-stock-category")
+                .orElseGet(() -> categoryRepository.save(
+                        Category.builder().name("hot-stock-category").slug("hot-stock-category").build()));
+        return productRepository.saveAndFlush(Product.builder()
+                .title("hot-stock-product")
+                .category(category)
+                .price(BigDecimal.TEN)
+                .stock(stock)
+                .tags(new ArrayList<>())
+                .images(new ArrayList<>())
+                .reviews(new ArrayList<>())
+                .build());
+    }
+}
@@ -0,0 +1,75 @@
+package in.urbanecart.products.service;
+
+import in.urbanecart.products.entity.*;
+import in.urbanecart.products.repository.CategoryRepository;
+import in.urbanecart.products.repository.ProductRepository;
+import in.urbanecart.products.repository.TagRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ProductBatchInsertTests {
+
+    private static final int PRODUCTS = 1000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void thousandProductsWithChildrenGoOutInBatches() {
+        Category category = categoryRepository.saveAndFlush(Category.builder().name("batch").slug("batch").build());
+        List<Tag> tags = tagRepository.saveAllAndFlush(List.of(new Tag("batch-a"), new Tag("batch-b")));
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = Product.builder()
+                    .title("batch-" + i)
+                    .category(category)
+                    .price(BigDecimal.ONE)
+                    .tags(new ArrayList<>(tags))
+                    .build();
+            product.setImages(new ArrayList<>(List.of(
+                    new ProductImage(null, "https://img/" + i + "/0", product),
+                    new ProductImage(null, "https://img/" + i + "/1", product))));
+            product.setReviews(new ArrayList<>(List.of(
+                    Review.builder().rating(5).product(product).build(),
+                    Review.builder().rating(3).product(product).build())));
+            products.add(product);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        productRepository.saveAllAndFlush(products);
+
+        // products + images + reviews + product_tags
+        long rows = PRODUCTS * 7L;
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(PRODUCTS * 5L);
+        // one statement per 50-row batch plus one sequence call per 50 ids, instead of one per row
+        assertThat(statements).isLessThan(rows / 20);
+    }
+}
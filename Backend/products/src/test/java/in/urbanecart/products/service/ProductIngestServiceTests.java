@@ -0,0 +1,56 @@
+package in.urbanecart.products.service;
+
+import in.urbanecart.products.DTO.CategoryDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "products.ingest.chunk-size=2")
+@ActiveProfiles("test")
+class ProductIngestServiceTests {
+
+    @Autowired
+    private ProductIngestService productIngestService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void writesOneResultPerRecordInInputOrder() throws Exception {
+        categoryService.create(CategoryDTO.builder().name("Ingest Test").build());
+
+        String feed = String.join("\n",
+                product("ING-1", "ingest-test"),
+                "{not json",
+                product("ING-2", "no-such-category"),
+                "",
+                product("ING-3", "Ingest Test"),
+                product("ING-4", "Ingest Test").replace("\"tags\":[\"ingest\"],", ""));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        productIngestService.ingest(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8)), out);
+
+        String[] results = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(results).hasSize(5);
+        assertThat(results[0]).contains("\"line\":1", "\"status\":\"added\"", "\"sku\":\"ING-1\"", "\"id\":");
+        assertThat(results[1]).contains("\"line\":2", "\"status\":\"failed\"", "Malformed JSON");
+        assertThat(results[2]).contains("\"line\":3", "\"status\":\"failed\"", "\"sku\":\"ING-2\"");
+        assertThat(results[3]).contains("\"line\":5", "\"status\":\"added\"", "\"sku\":\"ING-3\"");
+        // a record without tags is imported like any other
+        assertThat(results[4]).contains("\"line\":6", "\"status\":\"added\"", "\"sku\":\"ING-4\"");
+    }
+
+    private static String product(String sku, String category) {
+        return """
+                {"title":"%s","sku":"%s","category":"%s","price":9.99,"stock":3,"tags":["ingest"],\
+                "images":[],"dimensions":{"width":1,"height":1,"depth":1},"meta":{}}"""
+                .formatted(sku, sku, category).replace("\n", "");
+    }
+}
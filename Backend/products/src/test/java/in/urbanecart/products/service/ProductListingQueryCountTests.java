@@ -0,0 +1,222 @@
+package in.urbanecart.products.service;
+
+import in.urbanecart.products.DTO.ProductBatchResponse;
+import in.urbanecart.products.DTO.ProductCursorPage;
+import in.urbanecart.products.DTO.ProductDto;
+import in.urbanecart.products.DTO.ProductSummaryDto;
+import in.urbanecart.products.entity.*;
+import in.urbanecart.products.exception.InvalidField;
+import in.urbanecart.products.exception.InvalidPage;
+import in.urbanecart.products.facet.FacetQuery;
+import in.urbanecart.products.repository.CategoryRepository;
+import in.urbanecart.products.repository.ProductRepository;
+import in.urbanecart.products.repository.TagRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductListingQueryCountTests {
+
+    private static final int PRODUCT_COUNT = 60;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() {
+        if (productRepository.count() >= PRODUCT_COUNT) {
+            return;
+        }
+
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            categories.add(categoryRepository.save(Category.builder()
+                    .name("category-" + c)
+                    .slug("category-" + c)
+                    .build()));
+        }
+        List<Tag> tags = tagRepository.saveAll(List.of(new Tag("tag-a"), new Tag("tag-b"), new Tag("tag-c")));
+
+        List<Product> products = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = Product.builder()
+                    .title("product-" + i)
+                    .category(categories.get(i % categories.size()))
+                    .price(BigDecimal.TEN)
+                    .stock(5)
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now.minusMinutes(i))
+                    .tags(new ArrayList<>(List.of(tags.get(i % 3), tags.get((i + 1) % 3))))
+                    .build();
+            List<ProductImage> images = new ArrayList<>();
+            List<Review> reviews = new ArrayList<>();
+            for (int j = 0; j < 2; j++) {
+                images.add(new ProductImage(null, "https://img/" + i + "/" + j, product));
+                reviews.add(Review.builder().rating(4).comment("ok").product(product).build());
+            }
+            product.setImages(images);
+            product.setReviews(reviews);
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithPageSize() {
+        long small = statementsFor(5);
+        long large = statementsFor(50);
+
+        assertThat(large).isEqualTo(small);
+        // count + page + tags + images
+        assertThat(large).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void listedProductsCarryAllChildren() {
+        Page<ProductDto> page = productService.getPaginatedProducts(0, 10);
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getContent()).allSatisfy(dto -> {
+            assertThat(dto.getCategory()).startsWith("category-");
+            assertThat(dto.getTags()).hasSize(2);
+            assertThat(dto.getImages()).hasSize(2);
+            assertThat(dto.getReviews()).isNull();
+            assertThat(dto.getReviewCount()).isEqualTo(2);
+            assertThat(dto.getRating()).isEqualByComparingTo("4");
+        });
+    }
+
+    @Test
+    void cursorPagesWalkWholeCatalogWithoutCountQuery() {
+        Set<Long> seen = new HashSet<>();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String cursor = null;
+        do {
+            statistics.clear();
+            ProductCursorPage page = productService.getProductsAfter(cursor, 7);
+            // page + tags + images
+            assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+            page.getContent().forEach(dto -> assertThat(seen.add(dto.getId())).isTrue());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize((int) productRepository.count());
+    }
+
+    @Test
+    void cursorPagesRejectSizesOutOfRange() {
+        assertThat(productService.getProductsAfter(null, 1).getContent()).hasSize(1);
+
+        assertThatThrownBy(() -> productService.getProductsAfter(null, 0)).isInstanceOf(InvalidPage.class);
+        assertThatThrownBy(() -> productService.getProductsAfter(null, -1)).isInstanceOf(InvalidPage.class);
+        assertThatThrownBy(() -> productService.getProductsAfter(null, Integer.MAX_VALUE))
+                .isInstanceOf(InvalidPage.class);
+    }
+
+    @Test
+    void summariesAreOneSelectPlusCount() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<ProductSummaryDto> page = productService.getProductSummaries(0, 10);
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getContent()).allSatisfy(dto -> assertThat(dto.getCategory()).startsWith("category-"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void sparseFieldsReturnOnlyRequestedColumns() {
+        Page<Map<String, Object>> page = productService.getProductFields(List.of("title", "category"), 0, 10);
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getContent()).allSatisfy(row ->
+                assertThat(row).containsOnlyKeys("id", "title", "category"));
+        assertThatThrownBy(() -> productService.getProductFields(List.of("reviews"), 0, 10))
+                .isInstanceOf(InvalidField.class);
+    }
+
+    @Test
+    void batchLookupLoadsAllMissesTogetherAndReportsUnknownIds() {
+        List<Long> ids = new ArrayList<>(productRepository.findAll(PageRequest.of(0, 30)).map(Product::getId).getContent());
+        ids.add(2, -1L);
+        ids.add(-2L);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ProductBatchResponse response = productService.getProductsByIds(ids);
+
+        assertThat(response.getProducts()).extracting(ProductDto::getId)
+                .containsExactlyElementsOf(ids.stream().filter(id -> id > 0).toList());
+        assertThat(response.getMissing()).containsExactly(-1L, -2L);
+        // product + category, then tags and images
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+
+        // found products are now cached; only the unknown ids are looked up again
+        statistics.clear();
+        productService.getProductsByIds(ids);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void filterRejectsPagesOutOfRange() {
+        FacetQuery any = new FacetQuery(null, null, null, null, null);
+        assertThat(productService.filterProducts(any, 0, 100).getSize()).isEqualTo(100);
+
+        assertThatThrownBy(() -> productService.filterProducts(any, 0, 0)).isInstanceOf(InvalidPage.class);
+        assertThatThrownBy(() -> productService.filterProducts(any, 0, -1)).isInstanceOf(InvalidPage.class);
+        assertThatThrownBy(() -> productService.filterProducts(any, 0, Integer.MAX_VALUE)).isInstanceOf(InvalidPage.class);
+        assertThatThrownBy(() -> productService.filterProducts(any, -1, 10)).isInstanceOf(InvalidPage.class);
+    }
+
+    @Test
+    void searchRejectsLimitsOutOfRange() {
+        assertThat(productService.searchProducts("listing", 100)).hasSizeLessThanOrEqualTo(100);
+
+        assertThatThrownBy(() -> productService.searchProducts("listing", 0)).isInstanceOf(InvalidPage.class);
+        assertThatThrownBy(() -> productService.searchProducts("listing", 101)).isInstanceOf(InvalidPage.class);
+        assertThatThrownBy(() -> productService.searchProducts("listing", Integer.MAX_VALUE))
+                .isInstanceOf(InvalidPage.class);
+    }
+
+    private long statementsFor(int size) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        productService.getPaginatedProducts(0, size);
+        return statistics.getPrepareStatementCount();
+    }
+}
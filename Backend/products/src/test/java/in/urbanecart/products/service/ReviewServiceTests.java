@@ -0,0 +1,123 @@
+package in.urbanecart.products.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.urbanecart.products.DTO.ReviewCursorPage;
+import in.urbanecart.products.DTO.ReviewDto;
+import in.urbanecart.products.entity.Category;
+import in.urbanecart.products.entity.Product;
+import in.urbanecart.products.entity.Review;
+import in.urbanecart.products.exception.InvalidPage;
+import in.urbanecart.products.exception.InvalidReview;
+import in.urbanecart.products.repository.CategoryRepository;
+import in.urbanecart.products.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ReviewServiceTests {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void newReviewsMoveTheAggregatesAndTheProduct() throws Exception {
+        Product product = save(4, 5);
+        assertThat(product.getReviewCount()).isEqualTo(2);
+        assertThat(product.getRating()).isEqualByComparingTo("4.50");
+        LocalDateTime updatedAt = product.getUpdatedAt();
+
+        reviewService.addReview(product.getId(), ReviewDto.builder().rating(3).comment("fine").build());
+        productRepository.flush();
+
+        Product reviewed = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(reviewed.getReviewCount()).isEqualTo(3);
+        assertThat(reviewed.getRatingTotal()).isEqualTo(12);
+        assertThat(reviewed.getRating()).isEqualByComparingTo("4.00");
+        assertThat(reviewed.getUpdatedAt()).isAfter(updatedAt);
+
+        // the detail carries the aggregates, not the reviews
+        String json = objectMapper.writeValueAsString(productService.getProductById(product.getId()));
+        assertThat(json).contains("\"reviewCount\":3").doesNotContain("\"reviews\"");
+
+        assertThatThrownBy(() -> reviewService.addReview(product.getId(), ReviewDto.builder().rating(6).build()))
+                .isInstanceOf(InvalidReview.class);
+    }
+
+    @Test
+    void reviewsArePagedNewestFirstByCursor() {
+        Long id = save().getId();
+        List<Long> added = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            added.add(reviewService.addReview(id, ReviewDto.builder().rating(1 + i % 5).build()).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ReviewCursorPage page = reviewService.getReviews(id, cursor, 10);
+            page.getContent().forEach(review -> seen.add(review.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(added.reversed());
+        assertThat(productRepository.findById(id).orElseThrow().getRating()).isEqualByComparingTo("3.00");
+    }
+
+    @Test
+    void reviewPagesRejectSizesOutOfRange() {
+        Long id = save(4).getId();
+        assertThat(reviewService.getReviews(id, null, 1).getContent()).hasSize(1);
+
+        assertThatThrownBy(() -> reviewService.getReviews(id, null, 0)).isInstanceOf(InvalidPage.class);
+        assertThatThrownBy(() -> reviewService.getReviews(id, null, -1)).isInstanceOf(InvalidPage.class);
+        assertThatThrownBy(() -> reviewService.getReviews(id, null, Integer.MAX_VALUE))
+                .isInstanceOf(InvalidPage.class);
+    }
+
+    private Product save(int... ratings) {
+        Category category = categoryRepository.findByNameIgnoreCase("review-category")
+                .orElseGet(() -> categoryRepository.save(
+                        Category.builder().name("review-category").slug("review-category").build()));
+        Product product = Product.builder()
+                .title("review-product")
+                .category(category)
+                .price(BigDecimal.TEN)
+                .tags(new ArrayList<>())
+                .images(new ArrayList<>())
+                .build();
+        List<Review> reviews = new ArrayList<>();
+        for (int rating : ratings) {
+            reviews.add(Review.builder().rating(rating).product(product).build());
+        }
+        product.setReviews(reviews);
+        return productRepository.saveAndFlush(product);
+    }
+}